@@ -6,10 +6,23 @@ import org.junit.runners.Suite;
 import com.quui.algorithms.binary_search.BinarySearch;
 import com.quui.algorithms.permutations.TestPermutationsWithRepetition;
 import com.quui.algorithms.sorting.Quicksort;
+import com.quui.algorithms.sorting.TestExternalSort;
+import com.quui.algorithms.sorting.TestNaturalMergeSort;
+import com.quui.algorithms.sorting.TestParallelQuicksort;
+import com.quui.algorithms.sorting.TestPrimitiveQuicksort;
+import com.quui.algorithms.sorting.TestRadixSort;
+import com.quui.algorithms.string_matching.TestAhoCorasick;
 import com.quui.algorithms.string_matching.BoyerMoore;
 import com.quui.algorithms.string_matching.EditDistance;
 import com.quui.algorithms.string_matching.SimpleLongestCommonExtension;
+import com.quui.algorithms.string_matching.TestApproximateSearch;
+import com.quui.algorithms.string_matching.TestBitVectorEditDistance;
+import com.quui.algorithms.string_matching.TestFuzzyDictionary;
+import com.quui.algorithms.string_matching.TestHirschberg;
 import com.quui.algorithms.string_matching.TestKMismatch;
+import com.quui.algorithms.string_matching.TestParallelSearch;
+import com.quui.algorithms.string_matching.TestStreamSearch;
+import com.quui.algorithms.string_matching.TestWavefrontEditDistance;
 import com.quui.algorithms.string_matching.TestWildcards;
 import com.quui.data_structures.binary_tree.BinaryTree;
 import com.quui.data_structures.stack.Stack;
@@ -28,10 +41,23 @@ BinarySearch.class,
 BinaryTree.class,
 TestPermutationsWithRepetition.class,
 Quicksort.class,
+TestPrimitiveQuicksort.class,
+TestParallelQuicksort.class,
+TestRadixSort.class,
+TestExternalSort.class,
+TestNaturalMergeSort.class,
 BoyerMoore.class,
 EditDistance.class,
 TestKMismatch.class,
 TestWildcards.class,
+TestAhoCorasick.class,
+TestParallelSearch.class,
+TestStreamSearch.class,
+TestApproximateSearch.class,
+TestBitVectorEditDistance.class,
+TestHirschberg.class,
+TestFuzzyDictionary.class,
+TestWavefrontEditDistance.class,
 SimpleLongestCommonExtension.class,
 Stack.class,
 SuffixTree.class,
@@ -0,0 +1,27 @@
+package com.quui.algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The [http://en.wikipedia.org/wiki/Fork-join_model fork/join] pool shared by
+ * the parallel sorting and string matching algorithms when the caller passes
+ * none. It uses all available processors, so the algorithms used together
+ * share them instead of each starting as many threads as there are
+ * processors. Callers wanting to limit or isolate an algorithm pass their own
+ * pool.
+ */
+public final class ForkJoinPools {
+
+    private ForkJoinPools() {
+    }
+
+    /** Returns the shared pool, created on first use. */
+    public static ForkJoinPool shared() {
+        return Holder.POOL;
+    }
+
+    /* Holds the pool, so it is only created when used: */
+    private static final class Holder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+}
@@ -0,0 +1,494 @@
+package com.quui.algorithms.sorting;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.quui.algorithms.ForkJoinPools;
+
+/**
+ * [http://en.wikipedia.org/wiki/External_sorting External merge sort] for
+ * files larger than the memory: the records of the input file are read
+ * through a channel into runs that fit into the memory budget, each run is
+ * sorted in memory and written to a temporary file, and the runs are merged
+ * into the output file, taking the smallest current record of all runs from
+ * a heap of run numbers. Runs are sorted and written in parallel in a pool,
+ * while the next run is read, so with a parallelism of p, the budget is
+ * shared by p + 1 runs. If there are more runs than buffers fitting into the
+ * budget, groups of runs are merged into larger runs first. <p/>
+ *
+ * Records either have a fixed length in bytes, or are lines terminated by
+ * '\n' (written with a terminating '\n' even if the last line has none). They
+ * are ordered by their unsigned bytes, a prefix before the longer records,
+ * which is the order of the code points for UTF-8 text. In memory, a run is
+ * sorted by 7 bytes at a time: the bytes are packed into long keys, which
+ * are sorted with {@link PrimitiveQuicksort}, permuting the record numbers,
+ * and records with equal keys are sorted by their next 7 bytes.
+ */
+public final class ExternalSort {
+
+    /** The record length for lines terminated by '\n'. */
+    public static final int LINES = 0;
+
+    /** The default memory budget in bytes. */
+    public static final long DEFAULT_MEMORY = 64L << 20;
+
+    /* The size of the buffer of each reader and writer: */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /* The memory used per record in a run, besides its bytes: */
+    private static final int RECORD_OVERHEAD = 48;
+    /* The number of record bytes in each key of the in-memory sort: */
+    private static final int KEY_BYTES = 7;
+
+    private final int recordLength;
+    private final long memory;
+    private final ForkJoinPool pool;
+    private final Path directory;
+
+    /**
+     * An external sort of records of the given length in bytes (or of
+     * {@link #LINES}), with the default memory budget, in the
+     * {@link ForkJoinPools#shared() shared pool}, with temporary files in the
+     * default directory.
+     */
+    public ExternalSort(int recordLength) {
+        this(recordLength, DEFAULT_MEMORY, ForkJoinPools.shared(), Paths.get(
+                System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * An external sort of records of the given length in bytes (or of
+     * {@link #LINES}), using about the given memory in bytes, sorting runs in
+     * the given pool and writing them to temporary files in the given
+     * directory.
+     */
+    public ExternalSort(int recordLength, long memory, ForkJoinPool pool,
+            Path directory) {
+        if (recordLength < 0) {
+            throw new IllegalArgumentException("Invalid record length: "
+                    + recordLength);
+        }
+        if (memory < 3 * BUFFER_SIZE
+                || memory / (pool.getParallelism() + 1) < recordLength
+                        + RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("Memory too small: " + memory);
+        }
+        this.recordLength = recordLength;
+        this.memory = memory;
+        this.pool = pool;
+        this.directory = directory;
+    }
+
+    /** Writes the sorted records of the input file to the output file. */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> runs = new ArrayList<Path>();
+        try {
+            writeRuns(input, runs);
+            /* Merge as many runs as have a buffer in the memory at once: */
+            int fanIn = (int) Math.min(memory / BUFFER_SIZE - 1, 1 << 16);
+            while (runs.size() > fanIn) {
+                List<Path> group = new ArrayList<Path>(runs.subList(0, fanIn));
+                Path merged = Files.createTempFile(directory, "run", ".tmp");
+                runs.add(merged);
+                merge(group, merged);
+                for (Path run : group) {
+                    Files.delete(run);
+                }
+                runs.subList(0, fanIn).clear();
+            }
+            merge(runs, output);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /* Reads the input into runs, sorted and written in parallel: */
+    private void writeRuns(Path input, List<Path> runs) throws IOException {
+        int parallelism = pool.getParallelism();
+        long runMemory = Math.min(memory / (parallelism + 1), 1 << 30);
+        Deque<Future<Path>> pending = new ArrayDeque<Future<Path>>();
+        try (FileChannel channel = FileChannel.open(input,
+                StandardOpenOption.READ)) {
+            RecordReader reader = new RecordReader(channel, recordLength);
+            Run run = new Run(runMemory);
+            while (reader.next()) {
+                if (!run.add(reader.data, reader.offset, reader.length)) {
+                    if (pending.size() == parallelism) {
+                        runs.add(get(pending.poll()));
+                    }
+                    pending.add(pool.submit(run));
+                    run = new Run(runMemory);
+                    run.add(reader.data, reader.offset, reader.length);
+                }
+            }
+            if (run.count > 0) {
+                pending.add(pool.submit(run));
+            }
+            while (!pending.isEmpty()) {
+                runs.add(get(pending.poll()));
+            }
+        } finally {
+            /* After a failure, wait for the other runs to delete them: */
+            boolean interrupted = false;
+            for (Future<Path> future : pending) {
+                while (true) {
+                    try {
+                        runs.add(future.get());
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        /* The first failure is thrown already. */
+                        break;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Path get(Future<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /* Merges the sorted runs into the output with a heap of run numbers: */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int k = runs.size();
+        RecordReader[] readers = new RecordReader[k];
+        try (RecordWriter writer = new RecordWriter(output, recordLength)) {
+            int[] heap = new int[k];
+            int size = 0;
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RecordReader(FileChannel.open(runs.get(r),
+                        StandardOpenOption.READ), recordLength);
+                if (readers[r].next()) {
+                    heap[size++] = r;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, i, size, readers);
+            }
+            while (size > 0) {
+                RecordReader top = readers[heap[0]];
+                writer.write(top.data, top.offset, top.length);
+                if (!top.next()) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, 0, size, readers);
+            }
+        } finally {
+            for (RecordReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /* Moves the run at i down the heap until its record is not greater: */
+    private static void siftDown(int[] heap, int i, int size,
+            RecordReader[] readers) {
+        int run = heap[i];
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && compare(readers[heap[child + 1]],
+                    readers[heap[child]]) < 0) {
+                child++;
+            }
+            if (compare(readers[heap[child]], readers[run]) >= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    /* Compares the current records by their unsigned bytes: */
+    private static int compare(RecordReader r1, RecordReader r2) {
+        int length = Math.min(r1.length, r2.length);
+        for (int i = 0; i < length; i++) {
+            int b1 = r1.data[r1.offset + i] & 0xFF;
+            int b2 = r2.data[r2.offset + i] & 0xFF;
+            if (b1 != b2) {
+                return b1 - b2;
+            }
+        }
+        return r1.length - r2.length;
+    }
+
+    /* The records of a run, sorted and written to a temporary file: */
+    private final class Run implements Callable<Path> {
+        private final long memory;
+        private byte[] data = new byte[BUFFER_SIZE];
+        private int[] offsets = new int[BUFFER_SIZE / 16];
+        private int[] lengths = new int[BUFFER_SIZE / 16];
+        private int size;
+        private int count;
+
+        Run(long memory) {
+            this.memory = memory;
+        }
+
+        /* Adds a record unless the run is full, and is not empty: */
+        boolean add(byte[] bytes, int offset, int length) {
+            long used = size + length + (count + 1L) * RECORD_OVERHEAD;
+            if (count > 0 && used > memory) {
+                return false;
+            }
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, (int) Math.max(size + length, Math
+                        .min(2L * data.length, memory)));
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * count);
+                lengths = Arrays.copyOf(lengths, 2 * count);
+            }
+            System.arraycopy(bytes, offset, data, size, length);
+            offsets[count] = size;
+            lengths[count] = length;
+            size += length;
+            count++;
+            return true;
+        }
+
+        @Override
+        public Path call() throws IOException {
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            sort(order);
+            Path path = Files.createTempFile(directory, "run", ".tmp");
+            try (RecordWriter writer = new RecordWriter(path, recordLength)) {
+                for (int record : order) {
+                    writer.write(data, offsets[record], lengths[record]);
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+            return path;
+        }
+
+        /*
+         * Sorts the records by 7 bytes at a time, keeping the ranges of the
+         * order that still need sorting on a stack of left, right (exclusive)
+         * and depth, so long equal records do not deepen the call stack:
+         */
+        private void sort(int[] order) {
+            int[] ranges = { 0, count, 0 };
+            int size = ranges.length;
+            while (size > 0) {
+                size -= 3;
+                int left = ranges[size];
+                int right = ranges[size + 1];
+                int depth = ranges[size + 2];
+                int n = right - left;
+                long[] keys = new long[n];
+                int[] records = Arrays.copyOfRange(order, left, right);
+                for (int i = 0; i < n; i++) {
+                    keys[i] = key(records[i], depth);
+                }
+                PrimitiveQuicksort.sort(keys, records);
+                System.arraycopy(records, 0, order, left, n);
+                /*
+                 * Records with equal keys are sorted by their next bytes,
+                 * unless they end within these bytes and so are equal:
+                 */
+                int i = 0;
+                while (i < n) {
+                    int j = i + 1;
+                    while (j < n && keys[j] == keys[i]) {
+                        j++;
+                    }
+                    if (j - i > 1 && (keys[i] & 0xFF) > KEY_BYTES) {
+                        if (size + 3 > ranges.length) {
+                            ranges = Arrays.copyOf(ranges, 2 * ranges.length);
+                        }
+                        ranges[size++] = left + i;
+                        ranges[size++] = left + j;
+                        ranges[size++] = depth + KEY_BYTES;
+                    }
+                    i = j;
+                }
+            }
+        }
+
+        /*
+         * The 7 bytes of the record from depth on (0 after its end) and the
+         * number of remaining bytes, up to 8 if the record goes on, with the
+         * sign flipped to order the unsigned bytes as a signed long:
+         */
+        private long key(int record, int depth) {
+            int offset = offsets[record] + depth;
+            int remaining = lengths[record] - depth;
+            long key = 0;
+            for (int b = 0; b < KEY_BYTES; b++) {
+                key = key << 8 | (b < remaining ? data[offset + b] & 0xFF : 0);
+            }
+            return (key << 8 | Math.min(remaining, KEY_BYTES + 1))
+                    ^ Long.MIN_VALUE;
+        }
+    }
+
+    /* Reads fixed-length records or lines from a channel through a buffer: */
+    private static final class RecordReader implements Closeable {
+        private final FileChannel channel;
+        private final int recordLength;
+        private ByteBuffer buffer;
+        private boolean end;
+        /* The current record, valid until the next call of next(): */
+        private byte[] data;
+        private int offset;
+        private int length;
+
+        RecordReader(FileChannel channel, int recordLength) {
+            this.channel = channel;
+            this.recordLength = recordLength;
+            this.buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE,
+                    recordLength));
+            buffer.flip();
+        }
+
+        /* Reads the next record, returns false at the end of the channel: */
+        boolean next() throws IOException {
+            int scanned = buffer.position();
+            while (true) {
+                int position = buffer.position();
+                int limit = buffer.limit();
+                int recordEnd = -1;
+                if (recordLength > 0) {
+                    if (limit - position >= recordLength) {
+                        recordEnd = position + recordLength;
+                    }
+                } else {
+                    byte[] array = buffer.array();
+                    for (int i = scanned; i < limit; i++) {
+                        if (array[i] == '\n') {
+                            recordEnd = i;
+                            break;
+                        }
+                    }
+                    scanned = limit;
+                }
+                if (recordEnd < 0 && end) {
+                    if (position == limit) {
+                        return false;
+                    }
+                    if (recordLength > 0) {
+                        throw new IOException("Truncated record of "
+                                + (limit - position) + " bytes");
+                    }
+                    recordEnd = limit;
+                }
+                if (recordEnd >= 0) {
+                    data = buffer.array();
+                    offset = position;
+                    length = recordEnd - position;
+                    buffer.position(recordLength > 0 || recordEnd == limit
+                            ? recordEnd : recordEnd + 1);
+                    return true;
+                }
+                scanned -= position;
+                fill();
+            }
+        }
+
+        /* Moves the rest to the start and reads more, growing if full: */
+        private void fill() throws IOException {
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                buffer.flip();
+                buffer = ByteBuffer.allocate(2 * buffer.capacity()).put(buffer);
+            }
+            if (channel.read(buffer) < 0) {
+                end = true;
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /* Writes records, and a '\n' after lines, to a file through a buffer: */
+    private static final class RecordWriter implements Closeable {
+        private final FileChannel channel;
+        private final boolean lines;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        RecordWriter(Path path, int recordLength) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.lines = recordLength == LINES;
+        }
+
+        void write(byte[] data, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int n = Math.min(length, buffer.remaining());
+                buffer.put(data, offset, n);
+                offset += n;
+                length -= n;
+            }
+            if (lines) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.put((byte) '\n');
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.quui.algorithms.sorting;
+
+/**
+ * Multikey quicksort (Bentley & Sedgewick 1997) for strings, a three-way
+ * [http://en.wikipedia.org/wiki/Radix_sort radix sort]: instead of comparing
+ * whole strings, which re-scans their common prefix at every comparison, a
+ * range of strings sharing their first d characters is partitioned by the
+ * character at d into the strings with a smaller, equal and greater
+ * character. Only the equal strings go on with the character at d + 1, so
+ * each character is inspected about once, plus O(log n) times in the
+ * partitions. When all strings of a range share the character, their whole
+ * common prefix is skipped in one pass. Strings are ordered like by
+ * String.compareTo: by their UTF-16 chars, a prefix before the longer
+ * strings. Like the three-way introsort of {@link Quicksort}, it recurses on
+ * the two smaller partitions only, and sorts small ranges by insertion sort.
+ */
+public final class MultikeyQuicksort {
+
+    private MultikeyQuicksort() {
+    }
+
+    /** Sorts the strings in ascending order, like String.compareTo. */
+    public static void sort(CharSequence[] array) {
+        sort(array, 0, array.length - 1, 0);
+    }
+
+    /* Sorts the range from left to right, sharing the first depth chars: */
+    static void sort(CharSequence[] array, int left, int right, int depth) {
+        while (right - left >= Quicksort.INSERTION_SORT_THRESHOLD) {
+            int pivot = charAt(array[median(array, left,
+                    (left + right) >>> 1, right, depth)], depth);
+            /*
+             * Partition into the strings with a smaller char at depth (left to
+             * less - 1), an equal one (less to greater) and a greater one
+             * (greater + 1 to right):
+             */
+            int less = left;
+            int greater = right;
+            int i = left;
+            while (i <= greater) {
+                int c = charAt(array[i], depth);
+                if (c < pivot) {
+                    swap(array, less++, i++);
+                } else if (c > pivot) {
+                    swap(array, i, greater--);
+                } else {
+                    i++;
+                }
+            }
+            /*
+             * Strings ending at depth are equal and sorted. Recurse on the two
+             * smaller partitions and loop on the largest one, so the stack
+             * holds at most log n frames per character:
+             */
+            int lessSize = less - left;
+            int equalSize = pivot < 0 ? 0 : greater - less + 1;
+            int greaterSize = right - greater;
+            if (lessSize >= equalSize && lessSize >= greaterSize) {
+                sortEqual(array, less, greater, depth, pivot);
+                sort(array, greater + 1, right, depth);
+                right = less - 1;
+            } else if (greaterSize >= equalSize) {
+                sort(array, left, less - 1, depth);
+                sortEqual(array, less, greater, depth, pivot);
+                left = greater + 1;
+            } else if (lessSize + greaterSize > 0) {
+                sort(array, left, less - 1, depth);
+                sort(array, greater + 1, right, depth);
+                left = less;
+                right = greater;
+                depth++;
+            } else {
+                depth = commonPrefix(array, left, right, depth + 1);
+            }
+        }
+        insertionSort(array, left, right, depth);
+    }
+
+    private static void sortEqual(CharSequence[] array, int left, int right,
+            int depth, int pivot) {
+        if (pivot >= 0) {
+            sort(array, left, right, depth + 1);
+        }
+    }
+
+    /* The length of the common prefix of strings sharing depth chars: */
+    private static int commonPrefix(CharSequence[] array, int left,
+            int right, int depth) {
+        CharSequence first = array[left];
+        int prefix = first.length();
+        for (int i = left + 1; i <= right && prefix > depth; i++) {
+            CharSequence s = array[i];
+            int length = Math.min(prefix, s.length());
+            int j = depth;
+            while (j < length && s.charAt(j) == first.charAt(j)) {
+                j++;
+            }
+            prefix = j;
+        }
+        return Math.max(prefix, depth);
+    }
+
+    /* Insertion sort of strings sharing their first depth chars: */
+    private static void insertionSort(CharSequence[] array, int left,
+            int right, int depth) {
+        for (int i = left + 1; i <= right; i++) {
+            CharSequence element = array[i];
+            int j = i - 1;
+            while (j >= left && compare(array[j], element, depth) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /* Compares two strings from depth on, like String.compareTo: */
+    private static int compare(CharSequence s1, CharSequence s2, int depth) {
+        int length = Math.min(s1.length(), s2.length());
+        for (int i = depth; i < length; i++) {
+            char c1 = s1.charAt(i);
+            char c2 = s2.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return s1.length() - s2.length();
+    }
+
+    /* The char at depth, or -1 if the string ends before: */
+    private static int charAt(CharSequence s, int depth) {
+        return depth < s.length() ? s.charAt(depth) : -1;
+    }
+
+    /* The index of the string with the median char at depth of i, j and k: */
+    private static int median(CharSequence[] array, int i, int j, int k,
+            int depth) {
+        int a = charAt(array[i], depth);
+        int b = charAt(array[j], depth);
+        int c = charAt(array[k], depth);
+        return a < b ? (b < c ? j : a < c ? k : i) : (b > c ? j
+                : a > c ? k : i);
+    }
+
+    private static void swap(Object[] array, int i, int j) {
+        Object temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
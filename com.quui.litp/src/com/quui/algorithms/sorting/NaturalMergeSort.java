@@ -0,0 +1,520 @@
+package com.quui.algorithms.sorting;
+
+/**
+ * An adaptive, stable [http://en.wikipedia.org/wiki/Merge_sort merge sort]
+ * for nearly sorted input, like [http://en.wikipedia.org/wiki/Timsort
+ * Timsort] (Peters 2002): instead of splitting the array in halves, it takes
+ * the runs that are already sorted, ascending or strictly descending (which
+ * are reversed), extending short runs by binary insertion sort. The runs are
+ * kept on a stack whose lengths grow at least like the Fibonacci numbers
+ * (de Gouw et al. 2015), merging the top runs until they do, so runs of
+ * similar length are merged and the stack holds O(log n) runs. So sorted and
+ * reversed arrays take O(n) time, an array of k runs O(n log k), and any
+ * array O(n log n). <p/>
+ *
+ * A merge skips the elements of the left run not greater than the first
+ * element of the right run, and the elements of the right run not less than
+ * the last element of the left run, which are in place, by galloping: an
+ * exponential search followed by a binary search. It copies the rest of the
+ * left run into a buffer and merges it with the right run from the left;
+ * when one run wins {@link #MIN_GALLOP} times in a row, the merge gallops to
+ * the end of its winning streak and copies it at once. Arrays of primitive
+ * numbers are sorted like in {@link PrimitiveQuicksort}.
+ */
+public final class NaturalMergeSort {
+
+    /** The size below which a whole array is sorted by insertion sort. */
+    static final int MIN_MERGE = 32;
+
+    /** The number of wins in a row after which a merge gallops. */
+    static final int MIN_GALLOP = 7;
+
+    private NaturalMergeSort() {
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, and in O(n) time
+     * if it is sorted or reversed, keeping equal elements in their order.
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] array) {
+        new ObjectSorter<T>(array).sort();
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, and in O(n) time
+     * if it is sorted or reversed.
+     */
+    public static void sort(int[] array) {
+        new IntSorter(array).sort();
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, and in O(n) time
+     * if it is sorted or reversed.
+     */
+    public static void sort(long[] array) {
+        new LongSorter(array).sort();
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, and in O(n) time
+     * if it is sorted or reversed, -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(float[] array) {
+        int[] bits = PrimitiveQuicksort.sortableBits(array);
+        sort(bits);
+        PrimitiveQuicksort.setSortableBits(array, bits);
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, and in O(n) time
+     * if it is sorted or reversed, -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(double[] array) {
+        long[] bits = PrimitiveQuicksort.sortableBits(array);
+        sort(bits);
+        PrimitiveQuicksort.setSortableBits(array, bits);
+    }
+
+    /*
+     * The minimum run length, between MIN_MERGE / 2 and MIN_MERGE, such that
+     * n / minRun is a power of two or slightly less:
+     */
+    static int minRun(int n) {
+        int rest = 0;
+        while (n >= MIN_MERGE) {
+            rest |= n & 1;
+            n >>= 1;
+        }
+        return n + rest;
+    }
+
+    /* Gallop steps 1, 2, 4 etc., up to a limit to avoid overflow: */
+    private static int nextStep(int step) {
+        return step < 1 << 30 ? step << 1 : step;
+    }
+
+    /* The runs and the merge policy, independent of the element type: */
+    private abstract static class Sorter {
+        private final int length;
+        private final int[] runStart = new int[64];
+        private final int[] runLength = new int[64];
+        private int runs;
+
+        Sorter(int length) {
+            this.length = length;
+        }
+
+        final void sort() {
+            int minRun = minRun(length);
+            int left = 0;
+            while (left < length) {
+                int end = run(left, length);
+                if (end - left < minRun) {
+                    int forced = Math.min(length, left + minRun);
+                    insertionSort(left, forced, end);
+                    end = forced;
+                }
+                runStart[runs] = left;
+                runLength[runs] = end - left;
+                runs++;
+                mergeCollapse();
+                left = end;
+            }
+            while (runs > 1) {
+                int i = runs - 2;
+                if (i > 0 && runLength[i - 1] < runLength[i + 1]) {
+                    i--;
+                }
+                mergeAt(i);
+            }
+        }
+
+        /*
+         * Merges the top runs until each run is longer than the next two
+         * together, and longer than the next one:
+         */
+        private void mergeCollapse() {
+            int[] len = runLength;
+            while (runs > 1) {
+                int i = runs - 2;
+                if (i > 0 && len[i - 1] <= len[i] + len[i + 1]
+                        || i > 1 && len[i - 2] <= len[i - 1] + len[i]) {
+                    if (len[i - 1] < len[i + 1]) {
+                        i--;
+                    }
+                } else if (len[i] > len[i + 1]) {
+                    break;
+                }
+                mergeAt(i);
+            }
+        }
+
+        /* Merges the runs i and i + 1 of the stack: */
+        private void mergeAt(int i) {
+            int mid = runStart[i + 1];
+            merge(runStart[i], mid, mid + runLength[i + 1]);
+            runLength[i] += runLength[i + 1];
+            if (i == runs - 3) {
+                runStart[i + 1] = runStart[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            runs--;
+        }
+
+        /*
+         * The end of the run starting at left, reversed if it is strictly
+         * descending:
+         */
+        abstract int run(int left, int right);
+
+        /* Sorts left to right (exclusive), sorted up to start already: */
+        abstract void insertionSort(int left, int right, int start);
+
+        /* Merges the sorted ranges from left to mid and from mid to right: */
+        abstract void merge(int left, int mid, int right);
+    }
+
+    private static final class ObjectSorter<T extends Comparable<? super T>>
+            extends Sorter {
+        private final T[] array;
+        private Object[] buffer = new Object[0];
+
+        ObjectSorter(T[] array) {
+            super(array.length);
+            this.array = array;
+        }
+
+        @Override
+        int run(int left, int right) {
+            int end = left + 1;
+            if (end == right) {
+                return end;
+            }
+            if (array[end++].compareTo(array[left]) < 0) {
+                while (end < right
+                        && array[end].compareTo(array[end - 1]) < 0) {
+                    end++;
+                }
+                for (int i = left, j = end - 1; i < j; i++, j--) {
+                    T temp = array[i];
+                    array[i] = array[j];
+                    array[j] = temp;
+                }
+            } else {
+                while (end < right
+                        && array[end].compareTo(array[end - 1]) >= 0) {
+                    end++;
+                }
+            }
+            return end;
+        }
+
+        @Override
+        void insertionSort(int left, int right, int start) {
+            for (int i = start; i < right; i++) {
+                T element = array[i];
+                int position = gallop(element, array, left, i, true);
+                System.arraycopy(array, position, array, position + 1, i
+                        - position);
+                array[position] = element;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        void merge(int left, int mid, int right) {
+            left = gallop(array[mid], array, left, mid, true);
+            right = gallop(array[mid - 1], array, mid, right, false);
+            if (left == mid || mid == right) {
+                return;
+            }
+            int leftLength = mid - left;
+            if (buffer.length < leftLength) {
+                buffer = new Object[Math.max(leftLength, 2 * buffer.length)];
+            }
+            System.arraycopy(array, left, buffer, 0, leftLength);
+            int i = 0;
+            int j = mid;
+            int k = left;
+            int leftWins = 0;
+            int rightWins = 0;
+            while (i < leftLength && j < right) {
+                if (array[j].compareTo((T) buffer[i]) < 0) {
+                    array[k++] = array[j++];
+                    leftWins = 0;
+                    if (++rightWins >= MIN_GALLOP) {
+                        int end = gallop((T) buffer[i], array, j, right, false);
+                        System.arraycopy(array, j, array, k, end - j);
+                        k += end - j;
+                        j = end;
+                        rightWins = 0;
+                    }
+                } else {
+                    array[k++] = (T) buffer[i++];
+                    rightWins = 0;
+                    if (++leftWins >= MIN_GALLOP && j < right) {
+                        int end = gallop(array[j], buffer, i, leftLength, true);
+                        System.arraycopy(buffer, i, array, k, end - i);
+                        k += end - i;
+                        i = end;
+                        leftWins = 0;
+                    }
+                }
+            }
+            System.arraycopy(buffer, i, array, k, leftLength - i);
+        }
+
+        /*
+         * The first index from from to to (exclusive) of an element greater
+         * than the key (or not less, if not after), found by an exponential
+         * and a binary search:
+         */
+        @SuppressWarnings("unchecked")
+        private int gallop(T key, Object[] elements, int from, int to,
+                boolean after) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < to && !past(key, (T) elements[high], after)) {
+                low = high + 1;
+                high = to - low > step ? low + step : to;
+                step = nextStep(step);
+            }
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (past(key, (T) elements[middle], after)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private boolean past(T key, T element, boolean after) {
+            int comparison = element.compareTo(key);
+            return after ? comparison > 0 : comparison >= 0;
+        }
+    }
+
+    private static final class IntSorter extends Sorter {
+        private final int[] array;
+        private int[] buffer = new int[0];
+
+        IntSorter(int[] array) {
+            super(array.length);
+            this.array = array;
+        }
+
+        @Override
+        int run(int left, int right) {
+            int end = left + 1;
+            if (end == right) {
+                return end;
+            }
+            if (array[end++] < array[left]) {
+                while (end < right && array[end] < array[end - 1]) {
+                    end++;
+                }
+                for (int i = left, j = end - 1; i < j; i++, j--) {
+                    int temp = array[i];
+                    array[i] = array[j];
+                    array[j] = temp;
+                }
+            } else {
+                while (end < right && array[end] >= array[end - 1]) {
+                    end++;
+                }
+            }
+            return end;
+        }
+
+        @Override
+        void insertionSort(int left, int right, int start) {
+            for (int i = start; i < right; i++) {
+                int element = array[i];
+                int position = gallop(element, array, left, i, true);
+                System.arraycopy(array, position, array, position + 1, i
+                        - position);
+                array[position] = element;
+            }
+        }
+
+        @Override
+        void merge(int left, int mid, int right) {
+            left = gallop(array[mid], array, left, mid, true);
+            right = gallop(array[mid - 1], array, mid, right, false);
+            if (left == mid || mid == right) {
+                return;
+            }
+            int leftLength = mid - left;
+            if (buffer.length < leftLength) {
+                buffer = new int[Math.max(leftLength, 2 * buffer.length)];
+            }
+            System.arraycopy(array, left, buffer, 0, leftLength);
+            int i = 0;
+            int j = mid;
+            int k = left;
+            int leftWins = 0;
+            int rightWins = 0;
+            while (i < leftLength && j < right) {
+                if (array[j] < buffer[i]) {
+                    array[k++] = array[j++];
+                    leftWins = 0;
+                    if (++rightWins >= MIN_GALLOP) {
+                        int end = gallop(buffer[i], array, j, right, false);
+                        System.arraycopy(array, j, array, k, end - j);
+                        k += end - j;
+                        j = end;
+                        rightWins = 0;
+                    }
+                } else {
+                    array[k++] = buffer[i++];
+                    rightWins = 0;
+                    if (++leftWins >= MIN_GALLOP && j < right) {
+                        int end = gallop(array[j], buffer, i, leftLength, true);
+                        System.arraycopy(buffer, i, array, k, end - i);
+                        k += end - i;
+                        i = end;
+                        leftWins = 0;
+                    }
+                }
+            }
+            System.arraycopy(buffer, i, array, k, leftLength - i);
+        }
+
+        /* Like ObjectSorter.gallop: */
+        private static int gallop(int key, int[] elements, int from, int to,
+                boolean after) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < to && !(after ? elements[high] > key
+                    : elements[high] >= key)) {
+                low = high + 1;
+                high = to - low > step ? low + step : to;
+                step = nextStep(step);
+            }
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (after ? elements[middle] > key : elements[middle] >= key) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class LongSorter extends Sorter {
+        private final long[] array;
+        private long[] buffer = new long[0];
+
+        LongSorter(long[] array) {
+            super(array.length);
+            this.array = array;
+        }
+
+        @Override
+        int run(int left, int right) {
+            int end = left + 1;
+            if (end == right) {
+                return end;
+            }
+            if (array[end++] < array[left]) {
+                while (end < right && array[end] < array[end - 1]) {
+                    end++;
+                }
+                for (int i = left, j = end - 1; i < j; i++, j--) {
+                    long temp = array[i];
+                    array[i] = array[j];
+                    array[j] = temp;
+                }
+            } else {
+                while (end < right && array[end] >= array[end - 1]) {
+                    end++;
+                }
+            }
+            return end;
+        }
+
+        @Override
+        void insertionSort(int left, int right, int start) {
+            for (int i = start; i < right; i++) {
+                long element = array[i];
+                int position = gallop(element, array, left, i, true);
+                System.arraycopy(array, position, array, position + 1, i
+                        - position);
+                array[position] = element;
+            }
+        }
+
+        @Override
+        void merge(int left, int mid, int right) {
+            left = gallop(array[mid], array, left, mid, true);
+            right = gallop(array[mid - 1], array, mid, right, false);
+            if (left == mid || mid == right) {
+                return;
+            }
+            int leftLength = mid - left;
+            if (buffer.length < leftLength) {
+                buffer = new long[Math.max(leftLength, 2 * buffer.length)];
+            }
+            System.arraycopy(array, left, buffer, 0, leftLength);
+            int i = 0;
+            int j = mid;
+            int k = left;
+            int leftWins = 0;
+            int rightWins = 0;
+            while (i < leftLength && j < right) {
+                if (array[j] < buffer[i]) {
+                    array[k++] = array[j++];
+                    leftWins = 0;
+                    if (++rightWins >= MIN_GALLOP) {
+                        int end = gallop(buffer[i], array, j, right, false);
+                        System.arraycopy(array, j, array, k, end - j);
+                        k += end - j;
+                        j = end;
+                        rightWins = 0;
+                    }
+                } else {
+                    array[k++] = buffer[i++];
+                    rightWins = 0;
+                    if (++leftWins >= MIN_GALLOP && j < right) {
+                        int end = gallop(array[j], buffer, i, leftLength, true);
+                        System.arraycopy(buffer, i, array, k, end - i);
+                        k += end - i;
+                        i = end;
+                        leftWins = 0;
+                    }
+                }
+            }
+            System.arraycopy(buffer, i, array, k, leftLength - i);
+        }
+
+        /* Like ObjectSorter.gallop: */
+        private static int gallop(long key, long[] elements, int from, int to,
+                boolean after) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < to && !(after ? elements[high] > key
+                    : elements[high] >= key)) {
+                low = high + 1;
+                high = to - low > step ? low + step : to;
+                step = nextStep(step);
+            }
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (after ? elements[middle] > key : elements[middle] >= key) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
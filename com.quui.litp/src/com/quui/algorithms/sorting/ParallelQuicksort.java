@@ -0,0 +1,204 @@
+package com.quui.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.quui.algorithms.ForkJoinPools;
+
+/**
+ * Parallel sorting with the introsort mode of {@link Quicksort}: after a
+ * range has been partitioned, the two partitions are independent, so they are
+ * sorted as two tasks of a [http://en.wikipedia.org/wiki/Fork-join_model
+ * fork/join] pool, which are partitioned again, until a partition is smaller
+ * than a threshold and sorted sequentially. The parallelism is that of the
+ * pool. Like the sequential introsort, it falls back to heapsort when the
+ * partitions get too deep. Arrays of primitive numbers are sorted like in
+ * {@link PrimitiveQuicksort}.
+ */
+public final class ParallelQuicksort {
+
+    /** The default size below which a range is sorted sequentially. */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private ParallelQuicksort() {
+    }
+
+    /** Sorts the array in the {@link ForkJoinPools#shared() shared pool}. */
+    public static <T extends Comparable<? super T>> void sort(T[] array) {
+        sort(array, ForkJoinPools.shared(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array in the given pool, sorting ranges smaller than the
+     * threshold sequentially.
+     */
+    public static <T extends Comparable<? super T>> void sort(T[] array,
+            ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        pool.invoke(new ObjectTask<T>(array, 0, array.length - 1,
+                PrimitiveQuicksort.depthLimit(array.length), threshold));
+    }
+
+    /** Sorts the array in the {@link ForkJoinPools#shared() shared pool}. */
+    public static void sort(int[] array) {
+        sort(array, ForkJoinPools.shared(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array in the given pool, sorting ranges smaller than the
+     * threshold sequentially.
+     */
+    public static void sort(int[] array, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        pool.invoke(new IntTask(array, 0, array.length - 1, PrimitiveQuicksort
+                .depthLimit(array.length), threshold));
+    }
+
+    /** Sorts the array in the {@link ForkJoinPools#shared() shared pool}. */
+    public static void sort(long[] array) {
+        sort(array, ForkJoinPools.shared(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array in the given pool, sorting ranges smaller than the
+     * threshold sequentially.
+     */
+    public static void sort(long[] array, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        pool.invoke(new LongTask(array, 0, array.length - 1, PrimitiveQuicksort
+                .depthLimit(array.length), threshold));
+    }
+
+    /**
+     * Sorts the array in the {@link ForkJoinPools#shared() shared pool}, -0.0
+     * before 0.0 and NaN last.
+     */
+    public static void sort(float[] array) {
+        sort(array, ForkJoinPools.shared(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array in the given pool, sorting ranges smaller than the
+     * threshold sequentially, -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(float[] array, ForkJoinPool pool, int threshold) {
+        int[] bits = PrimitiveQuicksort.sortableBits(array);
+        sort(bits, pool, threshold);
+        PrimitiveQuicksort.setSortableBits(array, bits);
+    }
+
+    /**
+     * Sorts the array in the {@link ForkJoinPools#shared() shared pool}, -0.0
+     * before 0.0 and NaN last.
+     */
+    public static void sort(double[] array) {
+        sort(array, ForkJoinPools.shared(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array in the given pool, sorting ranges smaller than the
+     * threshold sequentially, -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(double[] array, ForkJoinPool pool, int threshold) {
+        long[] bits = PrimitiveQuicksort.sortableBits(array);
+        sort(bits, pool, threshold);
+        PrimitiveQuicksort.setSortableBits(array, bits);
+    }
+
+    private static void checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: "
+                    + threshold);
+        }
+    }
+
+    /* Sorts the range from left to right (inclusive) of an object array: */
+    private static final class ObjectTask<T extends Comparable<? super T>>
+            extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] array;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int threshold;
+
+        ObjectTask(T[] array, int left, int right, int depth, int threshold) {
+            this.array = array;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < threshold || depth == 0) {
+                Quicksort.introsort(array, left, right, depth);
+                return;
+            }
+            int split = Quicksort.partition(array, left, right);
+            invokeAll(new ObjectTask<T>(array, left, split, depth - 1,
+                    threshold), new ObjectTask<T>(array, split + 1, right,
+                    depth - 1, threshold));
+        }
+    }
+
+    /* Sorts the range from left to right (inclusive) of an int array: */
+    private static final class IntTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] array;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int threshold;
+
+        IntTask(int[] array, int left, int right, int depth, int threshold) {
+            this.array = array;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < threshold || depth == 0) {
+                PrimitiveQuicksort.introsort(array, null, left, right, depth);
+                return;
+            }
+            int split = PrimitiveQuicksort.partition(array, null, left, right);
+            invokeAll(new IntTask(array, left, split, depth - 1, threshold),
+                    new IntTask(array, split + 1, right, depth - 1, threshold));
+        }
+    }
+
+    /* Sorts the range from left to right (inclusive) of a long array: */
+    private static final class LongTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] array;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int threshold;
+
+        LongTask(long[] array, int left, int right, int depth, int threshold) {
+            this.array = array;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < threshold || depth == 0) {
+                PrimitiveQuicksort.introsort(array, null, left, right, depth);
+                return;
+            }
+            int split = PrimitiveQuicksort.partition(array, null, left, right);
+            invokeAll(new LongTask(array, left, split, depth - 1, threshold),
+                    new LongTask(array, split + 1, right, depth - 1,
+                            threshold));
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package com.quui.algorithms.sorting;
+
+/**
+ * The introsort mode of {@link Quicksort} for arrays of primitive numbers,
+ * comparing the numbers directly instead of calling compareTo on boxed
+ * numbers. Optionally, a parallel array of indices is permuted like the
+ * numbers, e.g. to sort the rows of a table by a key column. Floating point
+ * numbers are ordered like by Double.compare and Float.compare: -0.0 before
+ * 0.0 and NaN after all other numbers. To sort them, they are mapped to
+ * integers with the same order: the IEEE 754 bits of a floating point number,
+ * read as a signed integer, are ordered like the number if it is positive,
+ * and in reverse if it is negative, so the bits of negative numbers are
+ * flipped except for the sign. The introsort methods sort int and long
+ * arrays in place, and float and double arrays in an int or long buffer of
+ * their bits, as large as the array. The sort methods sort arrays of at least
+ * {@link #RADIX_SORT_THRESHOLD} numbers with {@link RadixSort} in linear time
+ * instead, at the cost of a buffer as large as the array.
+ */
+public final class PrimitiveQuicksort {
+
+    /** The size from which the sort methods use {@link RadixSort}. */
+    public static final int RADIX_SORT_THRESHOLD = 1 << 10;
+
+    private PrimitiveQuicksort() {
+    }
+
+    /** Sorts the array in ascending order in O(n log n) time. */
+    public static void introsort(int[] array) {
+        introsort(array, null, 0, array.length - 1, depthLimit(array.length));
+    }
+
+    /**
+     * Sorts the keys in ascending order in O(n log n) time, permuting the
+     * indices like the keys.
+     */
+    public static void introsort(int[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        introsort(keys, indices, 0, keys.length - 1, depthLimit(keys.length));
+    }
+
+    /** Sorts the array in ascending order in O(n log n) time. */
+    public static void introsort(long[] array) {
+        introsort(array, null, 0, array.length - 1, depthLimit(array.length));
+    }
+
+    /**
+     * Sorts the keys in ascending order in O(n log n) time, permuting the
+     * indices like the keys.
+     */
+    public static void introsort(long[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        introsort(keys, indices, 0, keys.length - 1, depthLimit(keys.length));
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, -0.0 before 0.0
+     * and NaN last, in a buffer of int bits as large as the array.
+     */
+    public static void introsort(float[] array) {
+        introsortBits(array, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order in O(n log n) time, -0.0 before 0.0
+     * and NaN last, permuting the indices like the keys, in a buffer of int
+     * bits as large as the array.
+     */
+    public static void introsort(float[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        introsortBits(keys, indices);
+    }
+
+    private static void introsortBits(float[] keys, int[] indices) {
+        int[] bits = sortableBits(keys);
+        introsort(bits, indices, 0, bits.length - 1, depthLimit(bits.length));
+        setSortableBits(keys, bits);
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, -0.0 before 0.0
+     * and NaN last, in a buffer of long bits as large as the array.
+     */
+    public static void introsort(double[] array) {
+        introsortBits(array, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order in O(n log n) time, -0.0 before 0.0
+     * and NaN last, permuting the indices like the keys, in a buffer of long
+     * bits as large as the array.
+     */
+    public static void introsort(double[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        introsortBits(keys, indices);
+    }
+
+    private static void introsortBits(double[] keys, int[] indices) {
+        long[] bits = sortableBits(keys);
+        introsort(bits, indices, 0, bits.length - 1, depthLimit(bits.length));
+        setSortableBits(keys, bits);
+    }
+
+    /**
+     * Sorts the array in ascending order, in linear time with a buffer as
+     * large as the array if it has at least {@link #RADIX_SORT_THRESHOLD}
+     * numbers, else by introsort.
+     */
+    public static void sort(int[] array) {
+        sortKeys(array, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order like {@link #sort(int[])}, permuting
+     * the indices like the keys.
+     */
+    public static void sort(int[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        sortKeys(keys, indices);
+    }
+
+    private static void sortKeys(int[] keys, int[] indices) {
+        if (keys.length >= RADIX_SORT_THRESHOLD) {
+            RadixSort.sort(keys, indices);
+        } else {
+            introsort(keys, indices, 0, keys.length - 1,
+                    depthLimit(keys.length));
+        }
+    }
+
+    /**
+     * Sorts the array in ascending order, in linear time with a buffer as
+     * large as the array if it has at least {@link #RADIX_SORT_THRESHOLD}
+     * numbers, else by introsort.
+     */
+    public static void sort(long[] array) {
+        sortKeys(array, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order like {@link #sort(long[])},
+     * permuting the indices like the keys.
+     */
+    public static void sort(long[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        sortKeys(keys, indices);
+    }
+
+    private static void sortKeys(long[] keys, int[] indices) {
+        if (keys.length >= RADIX_SORT_THRESHOLD) {
+            RadixSort.sort(keys, indices);
+        } else {
+            introsort(keys, indices, 0, keys.length - 1,
+                    depthLimit(keys.length));
+        }
+    }
+
+    /**
+     * Sorts the array in ascending order like {@link #sort(int[])}, -0.0
+     * before 0.0 and NaN last.
+     */
+    public static void sort(float[] array) {
+        sortBits(array, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order like {@link #sort(int[])}, -0.0
+     * before 0.0 and NaN last, permuting the indices like the keys.
+     */
+    public static void sort(float[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        sortBits(keys, indices);
+    }
+
+    private static void sortBits(float[] keys, int[] indices) {
+        int[] bits = sortableBits(keys);
+        sortKeys(bits, indices);
+        setSortableBits(keys, bits);
+    }
+
+    /**
+     * Sorts the array in ascending order like {@link #sort(long[])}, -0.0
+     * before 0.0 and NaN last.
+     */
+    public static void sort(double[] array) {
+        sortBits(array, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order like {@link #sort(long[])}, -0.0
+     * before 0.0 and NaN last, permuting the indices like the keys.
+     */
+    public static void sort(double[] keys, int[] indices) {
+        checkIndices(keys.length, indices);
+        sortBits(keys, indices);
+    }
+
+    private static void sortBits(double[] keys, int[] indices) {
+        long[] bits = sortableBits(keys);
+        sortKeys(bits, indices);
+        setSortableBits(keys, bits);
+    }
+
+    /* The sortable bits of all floats, and the floats of sortable bits: */
+    static int[] sortableBits(float[] keys) {
+        int[] bits = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = sortableBits(keys[i]);
+        }
+        return bits;
+    }
+
+    static void setSortableBits(float[] keys, int[] bits) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = Float.intBitsToFloat(sortableBits(bits[i]));
+        }
+    }
+
+    /* The sortable bits of all doubles, and the doubles of sortable bits: */
+    static long[] sortableBits(double[] keys) {
+        long[] bits = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = sortableBits(keys[i]);
+        }
+        return bits;
+    }
+
+    static void setSortableBits(double[] keys, long[] bits) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = Double.longBitsToDouble(sortableBits(bits[i]));
+        }
+    }
+
+    /* The bits of a float as an int with the same order: */
+    static int sortableBits(float f) {
+        return sortableBits(Float.floatToIntBits(f));
+    }
+
+    /* Flips all bits but the sign of negative numbers, its own inverse: */
+    static int sortableBits(int bits) {
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /* The bits of a double as a long with the same order: */
+    static long sortableBits(double d) {
+        return sortableBits(Double.doubleToLongBits(d));
+    }
+
+    /* Flips all bits but the sign of negative numbers, its own inverse: */
+    static long sortableBits(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /* Twice the logarithm of the size, as in Quicksort.introsort: */
+    static int depthLimit(int n) {
+        return n < 2 ? 0 : 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    private static void checkIndices(int length, int[] indices) {
+        if (indices.length != length) {
+            throw new IllegalArgumentException("Expected " + length
+                    + " indices, got " + indices.length);
+        }
+    }
+
+    /* The introsort loop for int keys, with optional parallel indices: */
+    static void introsort(int[] keys, int[] indices, int left, int right,
+            int depth) {
+        while (right - left >= Quicksort.INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapsort(keys, indices, left, right);
+                return;
+            }
+            depth--;
+            int split = partition(keys, indices, left, right);
+            if (split - left < right - split) {
+                introsort(keys, indices, left, split, depth);
+                left = split + 1;
+            } else {
+                introsort(keys, indices, split + 1, right, depth);
+                right = split;
+            }
+        }
+        insertionSort(keys, indices, left, right);
+    }
+
+    static int partition(int[] keys, int[] indices, int left, int right) {
+        swap(keys, indices, left, pivot(keys, left, right));
+        int pivot = keys[left];
+        int i = left - 1;
+        int j = right + 1;
+        while (true) {
+            do i++; while (keys[i] < pivot);
+            do j--; while (keys[j] > pivot);
+            if (i >= j) {
+                return j;
+            }
+            swap(keys, indices, i, j);
+        }
+    }
+
+    private static int pivot(int[] keys, int left, int right) {
+        int middle = (left + right) >>> 1;
+        if (right - left > Quicksort.NINTHER_THRESHOLD) {
+            int eighth = (right - left) / 8;
+            return median(keys, median(keys, left, left + eighth, left + 2
+                    * eighth), median(keys, middle - eighth, middle, middle
+                    + eighth), median(keys, right - 2 * eighth, right
+                    - eighth, right));
+        }
+        return median(keys, left, middle, right);
+    }
+
+    private static int median(int[] keys, int a, int b, int c) {
+        if (keys[a] < keys[b]) {
+            return keys[b] < keys[c] ? b : keys[a] < keys[c] ? c : a;
+        }
+        return keys[b] > keys[c] ? b : keys[a] > keys[c] ? c : a;
+    }
+
+    private static void insertionSort(int[] keys, int[] indices, int left,
+            int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = keys[i];
+            int index = indices == null ? 0 : indices[i];
+            int j = i - 1;
+            while (j >= left && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                if (indices != null) {
+                    indices[j + 1] = indices[j];
+                }
+                j--;
+            }
+            keys[j + 1] = key;
+            if (indices != null) {
+                indices[j + 1] = index;
+            }
+        }
+    }
+
+    private static void heapsort(int[] keys, int[] indices, int left,
+            int right) {
+        int n = right - left + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(keys, indices, left, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, indices, left, left + end);
+            siftDown(keys, indices, left, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] keys, int[] indices, int offset,
+            int i, int n) {
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n
+                    && keys[offset + child + 1] > keys[offset + child]) {
+                child++;
+            }
+            if (keys[offset + child] <= keys[offset + i]) {
+                return;
+            }
+            swap(keys, indices, offset + i, offset + child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] keys, int[] indices, int i, int j) {
+        int key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        if (indices != null) {
+            int index = indices[i];
+            indices[i] = indices[j];
+            indices[j] = index;
+        }
+    }
+
+    /* The introsort loop for long keys, with optional parallel indices: */
+    static void introsort(long[] keys, int[] indices, int left, int right,
+            int depth) {
+        while (right - left >= Quicksort.INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapsort(keys, indices, left, right);
+                return;
+            }
+            depth--;
+            int split = partition(keys, indices, left, right);
+            if (split - left < right - split) {
+                introsort(keys, indices, left, split, depth);
+                left = split + 1;
+            } else {
+                introsort(keys, indices, split + 1, right, depth);
+                right = split;
+            }
+        }
+        insertionSort(keys, indices, left, right);
+    }
+
+    static int partition(long[] keys, int[] indices, int left, int right) {
+        swap(keys, indices, left, pivot(keys, left, right));
+        long pivot = keys[left];
+        int i = left - 1;
+        int j = right + 1;
+        while (true) {
+            do i++; while (keys[i] < pivot);
+            do j--; while (keys[j] > pivot);
+            if (i >= j) {
+                return j;
+            }
+            swap(keys, indices, i, j);
+        }
+    }
+
+    private static int pivot(long[] keys, int left, int right) {
+        int middle = (left + right) >>> 1;
+        if (right - left > Quicksort.NINTHER_THRESHOLD) {
+            int eighth = (right - left) / 8;
+            return median(keys, median(keys, left, left + eighth, left + 2
+                    * eighth), median(keys, middle - eighth, middle, middle
+                    + eighth), median(keys, right - 2 * eighth, right
+                    - eighth, right));
+        }
+        return median(keys, left, middle, right);
+    }
+
+    private static int median(long[] keys, int a, int b, int c) {
+        if (keys[a] < keys[b]) {
+            return keys[b] < keys[c] ? b : keys[a] < keys[c] ? c : a;
+        }
+        return keys[b] > keys[c] ? b : keys[a] > keys[c] ? c : a;
+    }
+
+    private static void insertionSort(long[] keys, int[] indices, int left,
+            int right) {
+        for (int i = left + 1; i <= right; i++) {
+            long key = keys[i];
+            int index = indices == null ? 0 : indices[i];
+            int j = i - 1;
+            while (j >= left && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                if (indices != null) {
+                    indices[j + 1] = indices[j];
+                }
+                j--;
+            }
+            keys[j + 1] = key;
+            if (indices != null) {
+                indices[j + 1] = index;
+            }
+        }
+    }
+
+    private static void heapsort(long[] keys, int[] indices, int left,
+            int right) {
+        int n = right - left + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(keys, indices, left, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, indices, left, left + end);
+            siftDown(keys, indices, left, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] indices, int offset,
+            int i, int n) {
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n
+                    && keys[offset + child + 1] > keys[offset + child]) {
+                child++;
+            }
+            if (keys[offset + child] <= keys[offset + i]) {
+                return;
+            }
+            swap(keys, indices, offset + i, offset + child);
+            i = child;
+        }
+    }
+
+    private static void swap(long[] keys, int[] indices, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        if (indices != null) {
+            int index = indices[i];
+            indices[i] = indices[j];
+            indices[j] = index;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.quui.algorithms.sorting;
 
 /** <<import>>= Import the JUnit 4 test annotation and the static assertEquals method. */
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -14,10 +17,30 @@ import org.junit.Test;
  * are sorted at all times, until these two partitions together are the complete
  * array. The array is therefore conquered from the back and from the front,
  * dividing the array into two partitions, one starting from the beginning and
- * one from the end.
+ * one from the end. <p/>
+ * 
+ * The introsort mode (Musser 1997) avoids the worst case of this simple
+ * version: it picks the median of three elements (or of three medians of
+ * three, for large ranges) as the pivot, sorts small ranges by insertion sort,
+ * recurses on the smaller partition only, and switches to heapsort when the
+ * recursion gets deeper than twice the logarithm of the size, guaranteeing
+ * O(n log n) time and O(log n) stack depth. Its three-way variant partitions
+ * into the elements smaller than, equal to and greater than the pivot in one
+ * pass (Bentley & McIlroy 1993), and never recurses into the equal elements,
+ * so arrays with few distinct keys are sorted in close to linear time.
+ * Arrays of strings are sorted with {@link MultikeyQuicksort}, which
+ * partitions by single characters instead of comparing whole strings. Nearly
+ * sorted arrays are sorted faster by {@link NaturalMergeSort}, which merges
+ * the sorted runs they already contain.
  */
 public class Quicksort {
 
+    /** Ranges of at most this many elements are sorted by insertion sort. */
+    static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /** Ranges of more than this many elements use the ninther as pivot. */
+    static final int NINTHER_THRESHOLD = 128;
+
     static <T extends Comparable<? super T>> void quicksort(T[] array) {
         /**
          * Start conquering the array from the beginning (0) and from the end
@@ -81,6 +104,251 @@ public class Quicksort {
             quicksort(array, left, right0);
     }
 
+    /** Sorts the array in ascending order in O(n log n) time. */
+    public static <T extends Comparable<? super T>> void introsort(T[] array) {
+        introsort(array, 0, array.length - 1);
+    }
+
+    /**
+     * Sorts the strings in ascending order like String.compareTo, inspecting
+     * each character about once.
+     */
+    public static void introsort(String[] array) {
+        MultikeyQuicksort.sort(array);
+    }
+
+    /**
+     * Sorts the elements from left0 to right0 (inclusive) in ascending order
+     * in O(n log n) time.
+     */
+    public static <T extends Comparable<? super T>> void introsort(T[] array,
+            int left0, int right0) {
+        if (left0 < 0 || right0 >= array.length) {
+            throw new IllegalArgumentException("Invalid range: " + left0
+                    + " to " + right0 + " of " + array.length);
+        }
+        if (left0 < right0) {
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(right0
+                    - left0 + 1));
+            introsort(array, left0, right0, depthLimit);
+        }
+    }
+
+    /* The introsort loop, falling back to heapsort at depth 0: */
+    static <T extends Comparable<? super T>> void introsort(T[] array,
+            int left, int right, int depth) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapsort(array, left, right);
+                return;
+            }
+            depth--;
+            int split = partition(array, left, right);
+            /*
+             * Recurse on the smaller partition and loop on the larger one, so
+             * the stack holds at most log n frames:
+             */
+            if (split - left < right - split) {
+                introsort(array, left, split, depth);
+                left = split + 1;
+            } else {
+                introsort(array, split + 1, right, depth);
+                right = split;
+            }
+        }
+        insertionSort(array, left, right);
+    }
+
+    /**
+     * Sorts the array in ascending order in O(n log n) time, grouping equal
+     * elements in a three-way partition.
+     */
+    public static <T extends Comparable<? super T>> void introsortThreeWay(
+            T[] array) {
+        introsortThreeWay(array, 0, array.length - 1);
+    }
+
+    /**
+     * Sorts the elements from left0 to right0 (inclusive) in ascending order
+     * in O(n log n) time, grouping equal elements in a three-way partition.
+     */
+    public static <T extends Comparable<? super T>> void introsortThreeWay(
+            T[] array, int left0, int right0) {
+        if (left0 < 0 || right0 >= array.length) {
+            throw new IllegalArgumentException("Invalid range: " + left0
+                    + " to " + right0 + " of " + array.length);
+        }
+        if (left0 < right0) {
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(right0
+                    - left0 + 1));
+            introsortThreeWay(array, left0, right0, depthLimit);
+        }
+    }
+
+    /* The introsort loop with three-way partitions: */
+    static <T extends Comparable<? super T>> void introsortThreeWay(
+            T[] array, int left, int right, int depth) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapsort(array, left, right);
+                return;
+            }
+            depth--;
+            swap(array, left, pivot(array, left, right));
+            T pivot = array[left];
+            /*
+             * While scanning from both ends like in the two-way partition,
+             * elements equal to the pivot are swapped to the left end (up to
+             * p) and the right end (from q):
+             */
+            int i = left;
+            int j = right + 1;
+            int p = left;
+            int q = right + 1;
+            while (true) {
+                while (array[++i].compareTo(pivot) < 0) {
+                    if (i == right) {
+                        break;
+                    }
+                }
+                while (pivot.compareTo(array[--j]) < 0) {
+                    if (j == left) {
+                        break;
+                    }
+                }
+                if (i == j && array[i].compareTo(pivot) == 0) {
+                    swap(array, ++p, i);
+                }
+                if (i >= j) {
+                    break;
+                }
+                swap(array, i, j);
+                if (array[i].compareTo(pivot) == 0) {
+                    swap(array, ++p, i);
+                }
+                if (array[j].compareTo(pivot) == 0) {
+                    swap(array, --q, j);
+                }
+            }
+            /* Then the equal elements are swapped to the middle: */
+            i = j + 1;
+            for (int k = left; k <= p; k++) {
+                swap(array, k, j--);
+            }
+            for (int k = right; k >= q; k--) {
+                swap(array, k, i++);
+            }
+            /* Now the elements from j + 1 to i - 1 equal the pivot: */
+            if (j - left < right - i) {
+                introsortThreeWay(array, left, j, depth);
+                left = i;
+            } else {
+                introsortThreeWay(array, i, right, depth);
+                right = j;
+            }
+        }
+        insertionSort(array, left, right);
+    }
+
+    /*
+     * Partitions the range around the median pivot, moved to the left end
+     * (Hoare 1962): returns a split with all elements from left to split not
+     * greater, and all elements after split not smaller than the pivot. As
+     * the pivot is the leftmost element, the split is less than right.
+     */
+    static <T extends Comparable<? super T>> int partition(T[] array,
+            int left, int right) {
+        swap(array, left, pivot(array, left, right));
+        T pivot = array[left];
+        int i = left - 1;
+        int j = right + 1;
+        while (true) {
+            do i++; while (array[i].compareTo(pivot) < 0);
+            do j--; while (array[j].compareTo(pivot) > 0);
+            if (i >= j) {
+                return j;
+            }
+            swap(array, i, j);
+        }
+    }
+
+    /* The index of the median of three, or of the ninther for large ranges: */
+    private static <T extends Comparable<? super T>> int pivot(T[] array,
+            int left, int right) {
+        int middle = (left + right) >>> 1;
+        if (right - left > NINTHER_THRESHOLD) {
+            int eighth = (right - left) / 8;
+            return median(array, median(array, left, left + eighth, left + 2
+                    * eighth), median(array, middle - eighth, middle, middle
+                    + eighth), median(array, right - 2 * eighth, right
+                    - eighth, right));
+        }
+        return median(array, left, middle, right);
+    }
+
+    private static <T extends Comparable<? super T>> int median(T[] array,
+            int a, int b, int c) {
+        if (array[a].compareTo(array[b]) < 0) {
+            return array[b].compareTo(array[c]) < 0 ? b : array[a]
+                    .compareTo(array[c]) < 0 ? c : a;
+        }
+        return array[b].compareTo(array[c]) > 0 ? b : array[a]
+                .compareTo(array[c]) > 0 ? c : a;
+    }
+
+    /* Sorts the range by inserting each element into the sorted prefix: */
+    static <T extends Comparable<? super T>> void insertionSort(T[] array,
+            int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            T current = array[i];
+            int j = i - 1;
+            while (j >= left && array[j].compareTo(current) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = current;
+        }
+    }
+
+    /* Sorts the range with a max-heap built in place: */
+    static <T extends Comparable<? super T>> void heapsort(T[] array,
+            int left, int right) {
+        int n = right - left + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, left, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, left, left + end);
+            siftDown(array, left, 0, end);
+        }
+    }
+
+    /* Moves the element at heap index i down in a heap of size n: */
+    private static <T extends Comparable<? super T>> void siftDown(T[] array,
+            int offset, int i, int n) {
+        T element = array[offset + i];
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n
+                    && array[offset + child + 1].compareTo(array[offset
+                            + child]) > 0) {
+                child++;
+            }
+            if (array[offset + child].compareTo(element) <= 0) {
+                break;
+            }
+            array[offset + i] = array[offset + child];
+            i = child;
+        }
+        array[offset + i] = element;
+    }
+
+    private static void swap(Object[] array, int i, int j) {
+        Object temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
     /** <<test_integer>>= Test the sorting with Java's Integer type. */
     @Test
     public void integerSorting() {
@@ -108,4 +376,105 @@ public class Quicksort {
         String[] correct = new String[] {"Anthony", "Batman",  "Spiderman",  "Zoolander"};
         Assert.assertArrayEquals(correct, array);
     }
+
+    /**
+     * Introsort sorts large sorted, reversed and random arrays, with and
+     * without duplicates, like Arrays.sort:
+     */
+    @Test
+    public void introsortSorting() {
+        Random random = new Random(0);
+        int n = 100000;
+        Integer[][] inputs = new Integer[5][n];
+        for (int i = 0; i < n; i++) {
+            inputs[0][i] = i;
+            inputs[1][i] = n - i;
+            inputs[2][i] = random.nextInt();
+            inputs[3][i] = random.nextInt(10);
+            inputs[4][i] = i < n / 2 ? i : n - i;
+        }
+        for (Integer[] array : inputs) {
+            Integer[] correct = array.clone();
+            Arrays.sort(correct);
+            introsort(array);
+            Assert.assertArrayEquals(correct, array);
+        }
+        String[] array = new String[] { "Batman", "Spiderman", "Anthony",
+                "Zoolander" };
+        introsort(array);
+        Assert.assertArrayEquals(new String[] { "Anthony", "Batman",
+                "Spiderman", "Zoolander" }, array);
+        introsort(new Integer[0]);
+    }
+
+    /** The three-way variant sorts arrays with few distinct keys: */
+    @Test
+    public void introsortThreeWaySorting() {
+        Random random = new Random(2);
+        for (int keys : new int[] { 1, 2, 3, 10, 1000, Integer.MAX_VALUE }) {
+            for (int n : new int[] { 0, 1, 15, 17, 200, 100000 }) {
+                Integer[] array = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    array[i] = random.nextInt(keys);
+                }
+                Integer[] correct = array.clone();
+                Arrays.sort(correct);
+                introsortThreeWay(array);
+                Assert.assertArrayEquals(correct, array);
+            }
+        }
+    }
+
+    /**
+     * Strings are sorted like by compareTo, including URL-like strings with
+     * long common prefixes, prefixes of other strings and empty strings:
+     */
+    @Test
+    public void multikeySorting() {
+        Random random = new Random(3);
+        String[] prefixes = { "http://www.example.com/", "http://www.exa",
+                "https://", "" };
+        for (int n : new int[] { 0, 1, 15, 17, 200, 100000 }) {
+            String[] array = new String[n];
+            StringBuilder[] builders = new StringBuilder[n];
+            for (int i = 0; i < n; i++) {
+                StringBuilder builder = new StringBuilder(prefixes[random
+                        .nextInt(prefixes.length)]);
+                int length = random.nextInt(8);
+                for (int j = 0; j < length; j++) {
+                    builder.append((char) ('a' + random.nextInt(3)));
+                }
+                array[i] = builder.toString();
+                builders[i] = builder;
+            }
+            String[] correct = array.clone();
+            Arrays.sort(correct);
+            introsort(array);
+            Assert.assertArrayEquals(correct, array);
+            MultikeyQuicksort.sort(builders);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(correct[i], builders[i].toString());
+            }
+        }
+        String[] array = new String[] { "\uffff", "a", "\u00e4", "" };
+        introsort(array);
+        Assert.assertArrayEquals(new String[] { "", "a", "\u00e4", "\uffff" },
+                array);
+    }
+
+    /** At the depth limit, introsort falls back to heapsort: */
+    @Test
+    public void heapsortFallback() {
+        Random random = new Random(1);
+        for (int n = 0; n < 200; n += 7) {
+            Integer[] array = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = random.nextInt(50);
+            }
+            Integer[] correct = array.clone();
+            Arrays.sort(correct);
+            introsort(array, 0, n - 1, 0);
+            Assert.assertArrayEquals(correct, array);
+        }
+    }
 }
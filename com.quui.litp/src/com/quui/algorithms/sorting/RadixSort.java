@@ -0,0 +1,134 @@
+package com.quui.algorithms.sorting;
+
+/**
+ * Least significant digit first [http://en.wikipedia.org/wiki/Radix_sort
+ * radix sort] for arrays of int and long keys, in linear time: the keys are
+ * sorted stably by each byte, from the least to the most significant one, by
+ * counting the keys with each byte value and moving them to the positions
+ * given by the counts of the smaller values. The counts of all bytes are
+ * taken in a single pass, and bytes equal in all keys are skipped. The sign
+ * bit of the most significant byte is flipped, so negative keys come first.
+ * Optionally, a parallel array of indices is permuted like the keys.
+ */
+public final class RadixSort {
+
+    private RadixSort() {
+    }
+
+    /** Sorts the array in ascending order in linear time. */
+    public static void sort(int[] keys) {
+        sort(keys, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order in linear time, permuting the indices
+     * (if not null) like the keys.
+     */
+    public static void sort(int[] keys, int[] indices) {
+        int n = keys.length;
+        int[][] counts = new int[4][256];
+        for (int key : keys) {
+            for (int b = 0; b < 4; b++) {
+                counts[b][digit(key, b)]++;
+            }
+        }
+        int[] from = keys;
+        int[] to = new int[n];
+        int[] fromIndices = indices;
+        int[] toIndices = indices == null ? null : new int[n];
+        for (int b = 0; b < 4; b++) {
+            int[] offsets = counts[b];
+            if (n == 0 || offsets[digit(keys[0], b)] == n) {
+                continue;
+            }
+            toOffsets(offsets);
+            for (int i = 0; i < n; i++) {
+                int position = offsets[digit(from[i], b)]++;
+                to[position] = from[i];
+                if (indices != null) {
+                    toIndices[position] = fromIndices[i];
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+            swap = fromIndices;
+            fromIndices = toIndices;
+            toIndices = swap;
+        }
+        if (from != keys) {
+            System.arraycopy(from, 0, keys, 0, n);
+            if (indices != null) {
+                System.arraycopy(fromIndices, 0, indices, 0, n);
+            }
+        }
+    }
+
+    /** Sorts the array in ascending order in linear time. */
+    public static void sort(long[] keys) {
+        sort(keys, null);
+    }
+
+    /**
+     * Sorts the keys in ascending order in linear time, permuting the indices
+     * (if not null) like the keys.
+     */
+    public static void sort(long[] keys, int[] indices) {
+        int n = keys.length;
+        int[][] counts = new int[8][256];
+        for (long key : keys) {
+            for (int b = 0; b < 8; b++) {
+                counts[b][digit(key, b)]++;
+            }
+        }
+        long[] from = keys;
+        long[] to = new long[n];
+        int[] fromIndices = indices;
+        int[] toIndices = indices == null ? null : new int[n];
+        for (int b = 0; b < 8; b++) {
+            int[] offsets = counts[b];
+            if (n == 0 || offsets[digit(keys[0], b)] == n) {
+                continue;
+            }
+            toOffsets(offsets);
+            for (int i = 0; i < n; i++) {
+                int position = offsets[digit(from[i], b)]++;
+                to[position] = from[i];
+                if (indices != null) {
+                    toIndices[position] = fromIndices[i];
+                }
+            }
+            long[] swap = from;
+            from = to;
+            to = swap;
+            int[] swapIndices = fromIndices;
+            fromIndices = toIndices;
+            toIndices = swapIndices;
+        }
+        if (from != keys) {
+            System.arraycopy(from, 0, keys, 0, n);
+            if (indices != null) {
+                System.arraycopy(fromIndices, 0, indices, 0, n);
+            }
+        }
+    }
+
+    /* Byte b of the key, with the sign bit flipped in the last byte: */
+    private static int digit(int key, int b) {
+        return ((key >>> (8 * b)) & 0xFF) ^ (b == 3 ? 0x80 : 0);
+    }
+
+    private static int digit(long key, int b) {
+        return ((int) (key >>> (8 * b)) & 0xFF) ^ (b == 7 ? 0x80 : 0);
+    }
+
+    /* Replaces the counts by the positions of the first key of each value: */
+    private static void toOffsets(int[] counts) {
+        int sum = 0;
+        for (int v = 0; v < counts.length; v++) {
+            int count = counts[v];
+            counts[v] = sum;
+            sum += count;
+        }
+    }
+}
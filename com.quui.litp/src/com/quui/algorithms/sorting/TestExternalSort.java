@@ -0,0 +1,173 @@
+package com.quui.algorithms.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ExternalSort}
+ */
+public class TestExternalSort {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    /* The smallest budget, for many runs merged in several passes: */
+    private static final long MEMORY = 3 << 16;
+
+    /** Lines are sorted like Strings, the temporary files are deleted: */
+    @Test
+    public void testLines() throws IOException {
+        Random random = new Random(0);
+        String[] prefixes = { "http://www.example.com/", "http://www.exa",
+                "ä€/", "" };
+        String[] lines = new String[30000];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            StringBuilder line = new StringBuilder(prefixes[random
+                    .nextInt(prefixes.length)]);
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                line.append((char) ('a' + random.nextInt(3)));
+            }
+            lines[i] = line.toString();
+            text.append(i == 0 ? "" : "\n").append(line);
+        }
+        Arrays.sort(lines);
+        StringBuilder sorted = new StringBuilder();
+        for (String line : lines) {
+            sorted.append(line).append('\n');
+        }
+        Path directory = Files.createTempDirectory("sort");
+        try {
+            Path input = directory.resolve("input");
+            Path output = directory.resolve("output");
+            Files.write(input, text.toString().getBytes(UTF_8));
+            new ExternalSort(ExternalSort.LINES, MEMORY, POOL, directory)
+                    .sort(input, output);
+            assertEquals(sorted.toString(), new String(Files
+                    .readAllBytes(output), UTF_8));
+            int files = 0;
+            try (DirectoryStream<Path> stream = Files
+                    .newDirectoryStream(directory)) {
+                for (Path file : stream) {
+                    files++;
+                }
+            }
+            assertEquals(2, files);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /** Long equal lines are sorted without a call per 7 equal bytes: */
+    @Test
+    public void testLongEqualLines() throws IOException {
+        char[] chars = new char[100000];
+        Arrays.fill(chars, 'a');
+        String line = new String(chars);
+        String[] lines = { line, line + "a", line, line.substring(1) + "b",
+                line, line.substring(50000) };
+        StringBuilder text = new StringBuilder();
+        for (String s : lines) {
+            text.append(s).append('\n');
+        }
+        Arrays.sort(lines);
+        StringBuilder sorted = new StringBuilder();
+        for (String s : lines) {
+            sorted.append(s).append('\n');
+        }
+        Path directory = Files.createTempDirectory("sort");
+        try {
+            Path input = directory.resolve("input");
+            Path output = directory.resolve("output");
+            Files.write(input, text.toString().getBytes(UTF_8));
+            new ExternalSort(ExternalSort.LINES, 16 * MEMORY, POOL, directory)
+                    .sort(input, output);
+            assertEquals(sorted.toString(), new String(Files
+                    .readAllBytes(output), UTF_8));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /** Fixed-length records are sorted by their unsigned bytes: */
+    @Test
+    public void testFixedLength() throws IOException {
+        Random random = new Random(1);
+        int length = 10;
+        byte[] bytes = new byte[20000 * length];
+        random.nextBytes(bytes);
+        for (int i = 0; i < bytes.length; i += 3 * length) {
+            bytes[i] = 0;
+        }
+        String[] records = hex(bytes, length);
+        Arrays.sort(records);
+        Path directory = Files.createTempDirectory("sort");
+        try {
+            Path input = directory.resolve("input");
+            Path output = directory.resolve("output");
+            Files.write(input, bytes);
+            new ExternalSort(length, MEMORY, POOL, directory).sort(input,
+                    output);
+            assertArrayEquals(records, hex(Files.readAllBytes(output), length));
+            Files.write(input, new byte[0]);
+            new ExternalSort(length).sort(input, output);
+            assertEquals(0, Files.size(output));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedRecord() throws IOException {
+        Path directory = Files.createTempDirectory("sort");
+        try {
+            Path input = directory.resolve("input");
+            Files.write(input, new byte[25]);
+            new ExternalSort(10, MEMORY, POOL, directory).sort(input,
+                    directory.resolve("output"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMemory() {
+        new ExternalSort(10, MEMORY - 1, POOL, Paths.get(System
+                .getProperty("java.io.tmpdir")));
+    }
+
+    /* The records of the given length as hex strings, in unsigned order: */
+    private static String[] hex(byte[] bytes, int length) {
+        String[] records = new String[bytes.length / length];
+        for (int i = 0; i < records.length; i++) {
+            StringBuilder record = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                record.append(String.format("%02x", bytes[i * length + j]));
+            }
+            records[i] = record.toString();
+        }
+        return records;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files
+                .newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,139 @@
+package com.quui.algorithms.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NaturalMergeSort}
+ */
+public class TestNaturalMergeSort {
+
+    @Test
+    public void testInts() {
+        Random random = new Random(0);
+        for (int[] array : inputs(random)) {
+            int[] correct = array.clone();
+            Arrays.sort(correct);
+            NaturalMergeSort.sort(array);
+            assertArrayEquals(correct, array);
+        }
+    }
+
+    @Test
+    public void testLongsAndDoubles() {
+        Random random = new Random(1);
+        for (int[] ints : inputs(random)) {
+            long[] longs = new long[ints.length];
+            double[] doubles = new double[ints.length];
+            for (int i = 0; i < ints.length; i++) {
+                longs[i] = (long) ints[i] << 32 | random.nextInt(3);
+                doubles[i] = i % 10 == 0 ? Double.NaN : i % 10 == 1 ? -0.0
+                        : ints[i] / 3.0;
+            }
+            long[] correctLongs = longs.clone();
+            Arrays.sort(correctLongs);
+            NaturalMergeSort.sort(longs);
+            assertArrayEquals(correctLongs, longs);
+            double[] correctDoubles = doubles.clone();
+            Arrays.sort(correctDoubles);
+            NaturalMergeSort.sort(doubles);
+            for (int i = 0; i < doubles.length; i++) {
+                assertEquals(Double.doubleToLongBits(correctDoubles[i]), Double
+                        .doubleToLongBits(doubles[i]));
+            }
+        }
+        float[] floats = { 2F, Float.NaN, 0.0F, -0.0F, -1F };
+        NaturalMergeSort.sort(floats);
+        assertArrayEquals(new float[] { -1F, -0.0F, 0.0F, 2F, Float.NaN },
+                floats, 0);
+    }
+
+    /** Equal elements keep their order: */
+    @Test
+    public void testStable() {
+        Random random = new Random(2);
+        for (int[] keys : inputs(random)) {
+            Counted[] array = new Counted[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                array[i] = new Counted(keys[i] % 100, i);
+            }
+            NaturalMergeSort.sort(array);
+            for (int i = 1; i < array.length; i++) {
+                int comparison = array[i - 1].compareTo(array[i]);
+                assertTrue(comparison < 0 || comparison == 0
+                        && array[i - 1].index < array[i].index);
+            }
+        }
+    }
+
+    /** Sorted and reversed arrays take fewer comparisons than elements: */
+    @Test
+    public void testLinear() {
+        int n = 100000;
+        Counted[] sorted = new Counted[n];
+        Counted[] reversed = new Counted[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = new Counted(i, i);
+            reversed[i] = new Counted(n - i, i);
+        }
+        for (Counted[] array : new Counted[][] { sorted, reversed }) {
+            Counted.comparisons = 0;
+            NaturalMergeSort.sort(array);
+            assertTrue(Counted.comparisons < n);
+        }
+        assertEquals(1, reversed[0].key);
+    }
+
+    /* Sorted, reversed etc. arrays and nearly sorted ones: */
+    private static List<int[]> inputs(Random random) {
+        List<int[]> inputs = new ArrayList<int[]>(Arrays
+                .asList(TestPrimitiveQuicksort.inputs(random)));
+        int n = 50000;
+        int[] swapped = new int[n];
+        int[] appended = new int[n];
+        int[] descending = new int[n];
+        for (int i = 0; i < n; i++) {
+            swapped[i] = i;
+            appended[i] = i % 10000 + random.nextInt(10);
+            descending[i] = (n - i) / 3;
+        }
+        for (int i = 0; i < n / 100; i++) {
+            int j = random.nextInt(n);
+            int k = random.nextInt(n);
+            int temp = swapped[j];
+            swapped[j] = swapped[k];
+            swapped[k] = temp;
+        }
+        Arrays.sort(appended, 0, n / 2);
+        inputs.add(swapped);
+        inputs.add(appended);
+        inputs.add(descending);
+        return inputs;
+    }
+
+    /* Compares by key only, and counts the comparisons: */
+    private static final class Counted implements Comparable<Counted> {
+        static int comparisons;
+        final int key;
+        final int index;
+
+        Counted(int key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Counted that) {
+            comparisons++;
+            return key < that.key ? -1 : key > that.key ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.quui.algorithms.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ParallelQuicksort}
+ */
+public class TestParallelQuicksort {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testObjects() {
+        Random random = new Random(0);
+        for (int[] ints : TestPrimitiveQuicksort.inputs(random)) {
+            Integer[] array = new Integer[ints.length];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = ints[i];
+            }
+            Integer[] correct = array.clone();
+            Arrays.sort(correct);
+            ParallelQuicksort.sort(array, POOL, 100);
+            assertArrayEquals(correct, array);
+        }
+        String[] array = new String[] { "Batman", "Spiderman", "Anthony",
+                "Zoolander" };
+        ParallelQuicksort.sort(array);
+        assertArrayEquals(new String[] { "Anthony", "Batman", "Spiderman",
+                "Zoolander" }, array);
+    }
+
+    @Test
+    public void testPrimitives() {
+        Random random = new Random(1);
+        for (int[] array : TestPrimitiveQuicksort.inputs(random)) {
+            long[] longs = new long[array.length];
+            double[] doubles = new double[array.length];
+            for (int i = 0; i < array.length; i++) {
+                longs[i] = (long) array[i] * array[i];
+                doubles[i] = i % 10 == 0 ? Double.NaN : i % 10 == 1 ? -0.0
+                        : array[i] / 3.0;
+            }
+            int[] correct = array.clone();
+            Arrays.sort(correct);
+            ParallelQuicksort.sort(array, POOL, 100);
+            assertArrayEquals(correct, array);
+            long[] correctLongs = longs.clone();
+            Arrays.sort(correctLongs);
+            ParallelQuicksort.sort(longs, POOL, 100);
+            assertArrayEquals(correctLongs, longs);
+            double[] correctDoubles = doubles.clone();
+            Arrays.sort(correctDoubles);
+            ParallelQuicksort.sort(doubles, POOL, 100);
+            for (int i = 0; i < doubles.length; i++) {
+                assertEquals(Double.doubleToLongBits(correctDoubles[i]), Double
+                        .doubleToLongBits(doubles[i]));
+            }
+        }
+        float[] floats = { 2F, Float.NaN, 0.0F, -0.0F, -1F };
+        ParallelQuicksort.sort(floats);
+        assertArrayEquals(new float[] { -1F, -0.0F, 0.0F, 2F, Float.NaN },
+                floats, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThreshold() {
+        ParallelQuicksort.sort(new int[1], POOL, 0);
+    }
+}
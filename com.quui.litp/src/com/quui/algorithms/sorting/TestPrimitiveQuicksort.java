@@ -0,0 +1,164 @@
+package com.quui.algorithms.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link PrimitiveQuicksort}
+ */
+public class TestPrimitiveQuicksort {
+
+    @Test
+    public void testInts() {
+        Random random = new Random(0);
+        for (int[] array : inputs(random)) {
+            int[] correct = array.clone();
+            Arrays.sort(correct);
+            PrimitiveQuicksort.introsort(array);
+            assertArrayEquals(correct, array);
+        }
+    }
+
+    @Test
+    public void testLongs() {
+        Random random = new Random(1);
+        for (int[] ints : inputs(random)) {
+            long[] array = new long[ints.length];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (long) ints[i] << 32 | random.nextInt(3);
+            }
+            long[] correct = array.clone();
+            Arrays.sort(correct);
+            PrimitiveQuicksort.introsort(array);
+            assertArrayEquals(correct, array);
+        }
+    }
+
+    /** Floating point numbers are sorted with -0.0 before 0.0, NaN last: */
+    @Test
+    public void testFloatingPoint() {
+        float[] floats = { 1.8F, Float.NaN, -0.0F, 3.6F, 0.0F,
+                Float.NEGATIVE_INFINITY, -2F, 0.0F, -0.0F,
+                Float.POSITIVE_INFINITY };
+        float[] correctFloats = floats.clone();
+        Arrays.sort(correctFloats);
+        PrimitiveQuicksort.introsort(floats);
+        assertArrayEquals(correctFloats, floats, 0);
+        assertEquals(Float.floatToRawIntBits(-0.0F), Float
+                .floatToRawIntBits(floats[2]));
+        Random random = new Random(2);
+        double[] doubles = new double[10000];
+        for (int i = 0; i < doubles.length; i++) {
+            switch (random.nextInt(5)) {
+            case 0:
+                doubles[i] = Double.NaN;
+                break;
+            case 1:
+                doubles[i] = random.nextBoolean() ? 0.0 : -0.0;
+                break;
+            default:
+                doubles[i] = random.nextGaussian();
+            }
+        }
+        double[] correctDoubles = doubles.clone();
+        Arrays.sort(correctDoubles);
+        PrimitiveQuicksort.introsort(doubles);
+        for (int i = 0; i < doubles.length; i++) {
+            assertEquals(Double.doubleToLongBits(correctDoubles[i]), Double
+                    .doubleToLongBits(doubles[i]));
+        }
+    }
+
+    /** The indices are permuted like the keys, e.g. to sort table rows: */
+    @Test
+    public void testIndices() {
+        Random random = new Random(3);
+        for (int[] keys : inputs(random)) {
+            int[] original = keys.clone();
+            double[] doubleKeys = new double[keys.length];
+            int[] indices = new int[keys.length];
+            int[] doubleIndices = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                indices[i] = i;
+                doubleIndices[i] = i;
+                doubleKeys[i] = keys[i] / 7.0;
+            }
+            PrimitiveQuicksort.introsort(keys, indices);
+            PrimitiveQuicksort.introsort(doubleKeys, doubleIndices);
+            for (int i = 0; i < keys.length; i++) {
+                assertEquals(original[indices[i]], keys[i]);
+                assertEquals(original[doubleIndices[i]] / 7.0, doubleKeys[i],
+                        0);
+                if (i > 0) {
+                    assertTrue(keys[i - 1] <= keys[i]);
+                }
+            }
+        }
+    }
+
+    /** The sort methods radix sort large arrays, and introsort small ones: */
+    @Test
+    public void testSort() {
+        Random random = new Random(4);
+        for (int[] keys : inputs(random)) {
+            int n = keys.length;
+            int[] original = keys.clone();
+            long[] longs = new long[n];
+            float[] floats = new float[n];
+            double[] doubles = new double[n];
+            int[] indices = new int[n];
+            for (int i = 0; i < n; i++) {
+                longs[i] = (long) keys[i] << 32 | random.nextInt(3);
+                floats[i] = i % 10 == 0 ? Float.NaN : keys[i] / 3F;
+                doubles[i] = i % 10 == 1 ? -0.0 : keys[i] / 7.0;
+                indices[i] = i;
+            }
+            int[] correct = keys.clone();
+            Arrays.sort(correct);
+            long[] correctLongs = longs.clone();
+            Arrays.sort(correctLongs);
+            float[] correctFloats = floats.clone();
+            Arrays.sort(correctFloats);
+            double[] correctDoubles = doubles.clone();
+            Arrays.sort(correctDoubles);
+            PrimitiveQuicksort.sort(keys, indices);
+            PrimitiveQuicksort.sort(longs);
+            PrimitiveQuicksort.sort(floats);
+            PrimitiveQuicksort.sort(doubles, new int[n]);
+            assertArrayEquals(correct, keys);
+            assertArrayEquals(correctLongs, longs);
+            assertArrayEquals(correctFloats, floats, 0);
+            for (int i = 0; i < n; i++) {
+                assertEquals(original[indices[i]], keys[i]);
+                assertEquals(Double.doubleToLongBits(correctDoubles[i]), Double
+                        .doubleToLongBits(doubles[i]));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndicesLength() {
+        PrimitiveQuicksort.introsort(new int[3], new int[2]);
+    }
+
+    /* Sorted, reversed, random, low-cardinality and organ pipe arrays: */
+    static int[][] inputs(Random random) {
+        int n = 50000;
+        int[][] inputs = { new int[n], new int[n], new int[n], new int[n],
+                new int[n], { 3, 1, 2 }, {}, { 1 } };
+        for (int i = 0; i < n; i++) {
+            inputs[0][i] = i;
+            inputs[1][i] = n - i;
+            inputs[2][i] = random.nextInt();
+            inputs[3][i] = random.nextInt(10);
+            inputs[4][i] = i < n / 2 ? i : n - i;
+        }
+        return inputs;
+    }
+}
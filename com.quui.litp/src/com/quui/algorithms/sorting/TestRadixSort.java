@@ -0,0 +1,79 @@
+package com.quui.algorithms.sorting;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link RadixSort}
+ */
+public class TestRadixSort {
+
+    @Test
+    public void testInts() {
+        int[] array = { 3, -1, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, -256,
+                256, -1 };
+        RadixSort.sort(array);
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, -256, -1, -1, 0, 3,
+                256, Integer.MAX_VALUE }, array);
+        Random random = new Random(0);
+        for (int[] ints : TestPrimitiveQuicksort.inputs(random)) {
+            int[] correct = ints.clone();
+            Arrays.sort(correct);
+            RadixSort.sort(ints);
+            assertArrayEquals(correct, ints);
+        }
+    }
+
+    @Test
+    public void testLongs() {
+        long[] array = { 3, -1, Long.MIN_VALUE, 0, Long.MAX_VALUE,
+                -1L << 40, 1L << 40, Integer.MIN_VALUE };
+        RadixSort.sort(array);
+        assertArrayEquals(new long[] { Long.MIN_VALUE, -1L << 40,
+                Integer.MIN_VALUE, -1, 0, 3, 1L << 40, Long.MAX_VALUE }, array);
+        Random random = new Random(1);
+        for (int[] ints : TestPrimitiveQuicksort.inputs(random)) {
+            long[] longs = new long[ints.length];
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = random.nextLong() >> random.nextInt(64);
+            }
+            long[] correct = longs.clone();
+            Arrays.sort(correct);
+            RadixSort.sort(longs);
+            assertArrayEquals(correct, longs);
+        }
+    }
+
+    /** Equal keys keep the order of their indices: */
+    @Test
+    public void testStableIndices() {
+        Random random = new Random(2);
+        int n = 10000;
+        int[] keys = new int[n];
+        long[] longKeys = new long[n];
+        int[] indices = new int[n];
+        int[] longIndices = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(100) - 50;
+            longKeys[i] = (long) keys[i] << 33;
+            indices[i] = i;
+            longIndices[i] = i;
+        }
+        int[] original = keys.clone();
+        RadixSort.sort(keys, indices);
+        RadixSort.sort(longKeys, longIndices);
+        for (int i = 0; i < n; i++) {
+            assertEquals(original[indices[i]], keys[i]);
+            assertEquals(indices[i], longIndices[i]);
+            if (i > 0 && keys[i - 1] == keys[i]) {
+                assertTrue(indices[i - 1] < indices[i]);
+            }
+        }
+    }
+}
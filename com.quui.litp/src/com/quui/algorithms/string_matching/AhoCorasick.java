@@ -0,0 +1,219 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of the
+ * [http://en.wikipedia.org/wiki/Aho-Corasick_algorithm Aho-Corasick
+ * algorithm] for exact matching of a set of patterns, as described in
+ * Gusfield 1999:52. A keyword tree of all patterns is extended with
+ * ''failure links'' and ''output links'', after which a single pass over a
+ * text of length ''m'' finds all ''z'' occurrences of all patterns in
+ * ''O(m + z)'' time, independent of the number of patterns. The automaton is
+ * stored in flat int arrays: the edges of each state are sorted by character
+ * and searched binarily, except for the root, whose edges for Latin-1
+ * characters are stored in a table indexed by the character. Once built, the
+ * automaton is immutable and can be shared by concurrent threads.
+ */
+public final class AhoCorasick {
+
+    /**
+     * Receives the occurrences found in a text: the index of the pattern in
+     * the patterns the automaton was built from, and the position of the
+     * occurrence in the text. Returns false to stop the search.
+     */
+    public interface MatchListener {
+        boolean match(int patternId, int position);
+    }
+
+    private final String[] patterns;
+    /* The edges of state s are at edgeStart[s] up to edgeStart[s + 1]: */
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    /* The root transitions for Latin-1 characters, 0 (the root) if missing: */
+    private final int[] rootTargets;
+    private final int[] failure;
+    /* The next state on the failure path with an output, or -1: */
+    private final int[] outputLink;
+    /* The first pattern ending in a state, or -1, and the next one: */
+    private final int[] output;
+    private final int[] nextOutput;
+
+    /**
+     * Builds the automaton for the given patterns; pattern ids used when
+     * reporting matches are the indices in the given array.
+     */
+    public AhoCorasick(String... patterns) {
+        this.patterns = patterns.clone();
+        int size = 1;
+        for (String pattern : patterns) {
+            if (pattern.length() == 0) {
+                throw new IllegalArgumentException("Empty pattern");
+            }
+            size += pattern.length();
+        }
+        /*
+         * First, we build the keyword tree, storing the children of each state
+         * as a linked list of siblings:
+         */
+        int[] firstChild = new int[size];
+        int[] nextSibling = new int[size];
+        char[] label = new char[size];
+        Arrays.fill(firstChild, -1);
+        output = new int[size];
+        Arrays.fill(output, -1);
+        nextOutput = new int[patterns.length];
+        int states = 1;
+        int edges = 0;
+        for (int id = patterns.length - 1; id >= 0; id--) {
+            String pattern = patterns[id];
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                int child = firstChild[state];
+                while (child >= 0 && label[child] != c) {
+                    child = nextSibling[child];
+                }
+                if (child < 0) {
+                    child = states++;
+                    label[child] = c;
+                    nextSibling[child] = firstChild[state];
+                    firstChild[state] = child;
+                    edges++;
+                }
+                state = child;
+            }
+            nextOutput[id] = output[state];
+            output[state] = id;
+        }
+        /* Then, we store the edges of each state sorted by their character: */
+        edgeStart = new int[states + 1];
+        edgeChars = new char[edges];
+        edgeTargets = new int[edges];
+        int e = 0;
+        for (int state = 0; state < states; state++) {
+            edgeStart[state] = e;
+            for (int child = firstChild[state]; child >= 0;
+                    child = nextSibling[child]) {
+                int i = e++;
+                while (i > edgeStart[state] && edgeChars[i - 1] > label[child]) {
+                    edgeChars[i] = edgeChars[i - 1];
+                    edgeTargets[i] = edgeTargets[i - 1];
+                    i--;
+                }
+                edgeChars[i] = label[child];
+                edgeTargets[i] = child;
+            }
+        }
+        edgeStart[states] = e;
+        rootTargets = new int[BadCharacterTable.LATIN_1];
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            if (edgeChars[i] < BadCharacterTable.LATIN_1) {
+                rootTargets[edgeChars[i]] = edgeTargets[i];
+            }
+        }
+        /*
+         * Finally, we compute the failure and output links in breadth-first
+         * order, so the links of all shallower states are known: the failure
+         * link of a state points to the state of its longest proper suffix in
+         * the tree (Gusfield 1999:55), the output link to the next state on the
+         * failure path that has an output (Gusfield 1999:56):
+         */
+        failure = new int[states];
+        outputLink = new int[states];
+        outputLink[0] = -1;
+        int[] queue = new int[states];
+        int head = 0, tail = 0;
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            int child = edgeTargets[i];
+            outputLink[child] = -1;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = edgeStart[state]; i < edgeStart[state + 1]; i++) {
+                int child = edgeTargets[i];
+                int f = failure[state];
+                int next;
+                while ((next = edge(f, edgeChars[i])) < 0 && f != 0) {
+                    f = failure[f];
+                }
+                f = next < 0 ? 0 : next;
+                failure[child] = f;
+                outputLink[child] = output[f] >= 0 ? f : outputLink[f];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /** Returns the number of patterns. */
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    /** Returns the pattern with the given id. */
+    public String pattern(int patternId) {
+        return patterns[patternId];
+    }
+
+    /**
+     * Reports all occurrences of all patterns in the text to the listener, in
+     * the order of their end positions. Returns false if the listener stopped
+     * the search.
+     */
+    public boolean match(CharSequence text, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = edge(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = next < 0 ? 0 : next;
+            int s = output[state] >= 0 ? state : outputLink[state];
+            for (; s >= 0; s = outputLink[s]) {
+                for (int id = output[s]; id >= 0; id = nextOutput[id]) {
+                    if (!listener.match(id, i - patterns[id].length() + 1)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Returns the number of occurrences of all patterns in the text. */
+    public int count(CharSequence text) {
+        final int[] count = new int[1];
+        match(text, new MatchListener() {
+            public boolean match(int patternId, int position) {
+                count[0]++;
+                return true;
+            }
+        });
+        return count[0];
+    }
+
+    /** Returns the target of the edge labeled c leaving the state, or -1. */
+    private int edge(int state, char c) {
+        if (state == 0 && c < BadCharacterTable.LATIN_1) {
+            int target = rootTargets[c];
+            return target == 0 ? -1 : target;
+        }
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,158 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+
+/**
+ * Search for all places in a text where a pattern occurs with at most ''k''
+ * edits (insertions, deletions or replacements). This is the
+ * [[Edit distance (Java)|edit distance]] DP with the first row set to zero,
+ * so an occurrence can start anywhere in the text (Sellers 1980, Gusfield
+ * 1999:264), computed with the bit-vector algorithm of Myers (1999): instead
+ * of the values of a DP column, the vertical differences between neighbouring
+ * cells, which are -1, 0 or +1, are stored as two bit vectors, and the next
+ * column is computed from them with a few bit operations per word. Patterns
+ * longer than 64 characters are split into blocks of 64 rows, passing the
+ * horizontal difference of each block's last row to the next block. The text
+ * is processed in ''O(n ceil(m/w))'' time for ''w'' bits per word.
+ */
+public final class ApproximateSearch {
+
+    private final String pattern;
+    private final int k;
+    private final int length;
+    private final int blocks;
+    /* The last row of the last block: */
+    private final long lastBit;
+    /* The equality masks of the Latin-1 characters, blocks longs each: */
+    private final long[] latin1Masks;
+    /* The equality masks of the other pattern characters: */
+    private final char[] chars;
+    private final long[] charMasks;
+    /* The mask of all other characters, equal to no position: */
+    private final long[] noMask;
+
+    /** Compiles the given pattern for occurrences with at most k edits. */
+    public ApproximateSearch(String pattern, int k) {
+        if (pattern.length() == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k: " + k);
+        }
+        this.pattern = pattern;
+        this.k = k;
+        length = pattern.length();
+        blocks = (length + 63) >>> 6;
+        lastBit = 1L << ((length - 1) & 63);
+        latin1Masks = new long[BadCharacterTable.LATIN_1 * blocks];
+        noMask = new long[blocks];
+        char[] sorted = pattern.toCharArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (char c : sorted) {
+            if (c >= BadCharacterTable.LATIN_1
+                    && (distinct == 0 || sorted[distinct - 1] != c)) {
+                sorted[distinct++] = c;
+            }
+        }
+        chars = Arrays.copyOf(sorted, distinct);
+        charMasks = new long[distinct * blocks];
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            long bit = 1L << (i & 63);
+            if (c < BadCharacterTable.LATIN_1) {
+                latin1Masks[c * blocks + (i >>> 6)] |= bit;
+            } else {
+                int index = Arrays.binarySearch(chars, c);
+                charMasks[index * blocks + (i >>> 6)] |= bit;
+            }
+        }
+    }
+
+    /** Returns the pattern this instance was compiled from. */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Reports the end position (inclusive) of every occurrence with at most k
+     * edits to the sink, together with its edit distance. Returns false if
+     * the sink stopped the search.
+     */
+    public boolean match(CharSequence text, MatchSink sink) {
+        return match(text, 0, text.length(), sink);
+    }
+
+    /**
+     * Reports the end positions of the occurrences with at most k edits in
+     * the range from (inclusive) to (exclusive) of the text.
+     */
+    public boolean match(CharSequence text, int from, int to, MatchSink sink) {
+        /*
+         * Initially, the column is 0, 1, ..., m: all vertical differences are
+         * +1 and the score, the value of the last row, is m:
+         */
+        long[] plus = new long[blocks];
+        long[] minus = new long[blocks];
+        Arrays.fill(plus, -1L);
+        int score = length;
+        for (int j = from; j < to; j++) {
+            char c = text.charAt(j);
+            long[] masks = latin1Masks;
+            int offset = c * blocks;
+            if (c >= BadCharacterTable.LATIN_1) {
+                int index = Arrays.binarySearch(chars, c);
+                masks = index >= 0 ? charMasks : noMask;
+                offset = index >= 0 ? index * blocks : 0;
+            }
+            /* The first row is 0 in every column, its difference is 0: */
+            score += nextColumn(plus, minus, masks, offset, 0, lastBit);
+            if (score <= k && !sink.match(j, score)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Computes the next column of a DP table split into blocks of 64 rows,
+     * updating its vertical differences plus and minus in place, from the
+     * equality masks of the column's character at offset. The horizontal
+     * difference entering the first row is carry, and the one leaving the
+     * last row, at lastBit of the last block, is returned:
+     */
+    static int nextColumn(long[] plus, long[] minus, long[] masks, int offset,
+            int carry, long lastBit) {
+        int blocks = plus.length;
+        for (int b = 0; b < blocks; b++) {
+            long high = b == blocks - 1 ? lastBit : 1L << 63;
+            long pv = plus[b];
+            long mv = minus[b];
+            long eq = masks[offset + b];
+            long xv = eq | mv;
+            if (carry < 0) {
+                eq |= 1;
+            }
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            int out = (ph & high) != 0 ? 1 : (mh & high) != 0 ? -1 : 0;
+            ph <<= 1;
+            mh <<= 1;
+            if (carry < 0) {
+                mh |= 1;
+            } else if (carry > 0) {
+                ph |= 1;
+            }
+            plus[b] = mh | ~(xv | ph);
+            minus[b] = ph & xv;
+            carry = out;
+        }
+        return carry;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
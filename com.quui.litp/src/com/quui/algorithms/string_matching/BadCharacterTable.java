@@ -0,0 +1,83 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+
+/**
+ * Primitive storage of the right-most positions of all characters in a
+ * pattern, as required by the bad-character-shift rule of the
+ * [[Boyer-Moore string search algorithm (Java)|Boyer-Moore algorithm]]
+ * (Gusfield 1999:17). Unlike a map of boxed characters, a lookup never
+ * allocates: patterns consisting of Latin-1 characters only are stored in an
+ * int array indexed by the character itself, patterns using a larger alphabet
+ * are stored compactly as a sorted array of their distinct characters, which
+ * is searched binarily.
+ */
+final class BadCharacterTable {
+
+    /** The size of the Latin-1 alphabet, the characters 0 to 255. */
+    static final int LATIN_1 = 256;
+
+    /** Right-most positions indexed by character, for Latin-1 patterns. */
+    private final int[] latin1;
+
+    /** Sorted distinct characters of patterns with a larger alphabet. */
+    private final char[] chars;
+
+    /** The right-most positions of the characters in {@link #chars}. */
+    private final int[] positions;
+
+    private BadCharacterTable(int[] latin1, char[] chars, int[] positions) {
+        this.latin1 = latin1;
+        this.chars = chars;
+        this.positions = positions;
+    }
+
+    /**
+     * Preprocesses the given pattern by scanning it from left to right, so
+     * that the last position stored for each character is its right-most one.
+     */
+    static BadCharacterTable of(CharSequence pattern) {
+        int n = pattern.length();
+        boolean isLatin1 = true;
+        for (int i = 0; i < n && isLatin1; i++) {
+            isLatin1 = pattern.charAt(i) < LATIN_1;
+        }
+        if (isLatin1) {
+            int[] table = new int[LATIN_1];
+            Arrays.fill(table, -1);
+            for (int i = 0; i < n; i++) {
+                table[pattern.charAt(i)] = i;
+            }
+            return new BadCharacterTable(table, null, null);
+        }
+        char[] sorted = new char[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = pattern.charAt(i);
+        }
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        char[] chars = Arrays.copyOf(sorted, distinct);
+        int[] positions = new int[distinct];
+        for (int i = 0; i < n; i++) {
+            positions[Arrays.binarySearch(chars, pattern.charAt(i))] = i;
+        }
+        return new BadCharacterTable(null, chars, positions);
+    }
+
+    /**
+     * Returns the right-most position of the given character in the pattern,
+     * or -1 if the character does not occur in the pattern.
+     */
+    int rightMost(char c) {
+        if (latin1 != null) {
+            return c < LATIN_1 ? latin1[c] : -1;
+        }
+        int i = Arrays.binarySearch(chars, c);
+        return i >= 0 ? positions[i] : -1;
+    }
+}
@@ -0,0 +1,159 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computation of the [[Edit distance (Java)|edit distance]] of two strings
+ * with the bit-vector algorithm of Myers (1999), in the formulation for the
+ * global distance by Hyyrö (2001). Like in the
+ * [[Approximate search (Java)|approximate search]], the vertical differences
+ * of a DP column are stored as two bit vectors and each column of the table
+ * is computed with a few bit operations per word. The shorter string is used
+ * for the rows of the table, and unlike in the search, the first row is
+ * D(0,j) = j, so the horizontal difference entering the first row is always
+ * +1. Strings longer than 64 characters are split into blocks of 64 rows. The
+ * distance is computed in ''O(n ceil(m/w))'' time for ''w'' bits per word.
+ * For the distances of one query to many strings, the query is compiled into
+ * its equality masks once, and each string is scanned as the columns of the
+ * table, 64 cells of a column being updated per word operation.
+ */
+public final class BitVectorEditDistance {
+
+    private final String query;
+    private final int m;
+    private final int blocks;
+    /* The other characters of the query, sorted: */
+    private final char[] chars;
+    /*
+     * The equality masks of the Latin-1 characters, blocks longs each, then
+     * those of the other characters and the empty masks of all characters
+     * not in the query:
+     */
+    private final long[] masks;
+
+    /**
+     * Compiles the query for computing its edit distance to any number of
+     * strings, preprocessing it only once.
+     */
+    public BitVectorEditDistance(String query) {
+        this.query = query;
+        m = query.length();
+        blocks = Math.max(1, (m + 63) >>> 6);
+        char[] sorted = new char[m];
+        int distinct = 0;
+        for (int i = 0; i < m; i++) {
+            if (query.charAt(i) >= BadCharacterTable.LATIN_1) {
+                sorted[distinct++] = query.charAt(i);
+            }
+        }
+        Arrays.sort(sorted, 0, distinct);
+        int unique = 0;
+        for (int i = 0; i < distinct; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        chars = Arrays.copyOf(sorted, unique);
+        masks = new long[(BadCharacterTable.LATIN_1 + unique + 1) * blocks];
+        for (int i = 0; i < m; i++) {
+            masks[offset(query.charAt(i), chars, blocks) + (i >>> 6)] |=
+                    1L << (i & 63);
+        }
+    }
+
+    /** Returns the query this instance was compiled from. */
+    public String query() {
+        return query;
+    }
+
+    /** Returns the edit distance of the query and the given string. */
+    public int distance(CharSequence s) {
+        if (m == 0) {
+            return s.length();
+        }
+        if (blocks == 1) {
+            return distance(m, s, masks, chars);
+        }
+        return distance(m, blocks, s, masks, chars);
+    }
+
+    /**
+     * Returns the edit distances of the query and each of the given strings,
+     * in the order of the strings.
+     */
+    public int[] distances(List<? extends CharSequence> strings) {
+        int[] distances = new int[strings.size()];
+        int i = 0;
+        for (CharSequence s : strings) {
+            distances[i++] = distance(s);
+        }
+        return distances;
+    }
+
+    /** Returns the edit distance of the two given strings. */
+    public static int distance(CharSequence s1, CharSequence s2) {
+        CharSequence rows = s1.length() <= s2.length() ? s1 : s2;
+        CharSequence columns = rows == s1 ? s2 : s1;
+        if (rows.length() == 0) {
+            return columns.length();
+        }
+        return new BitVectorEditDistance(rows.toString()).distance(columns);
+    }
+
+    /* The computation for at most 64 rows, in single words: */
+    private static int distance(int m, CharSequence columns, long[] masks,
+            char[] chars) {
+        long high = 1L << (m - 1);
+        /* Initially, the column is 0, 1, ..., m, all differences are +1: */
+        long pv = -1L;
+        long mv = 0;
+        int score = m;
+        for (int j = 0; j < columns.length(); j++) {
+            long eq = masks[offset(columns.charAt(j), chars, 1)];
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & high) != 0) {
+                score++;
+            } else if ((mh & high) != 0) {
+                score--;
+            }
+            /* The first row is D(0,j) = j, its difference is +1: */
+            ph = (ph << 1) | 1;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+        return score;
+    }
+
+    /* The computation for more than 64 rows, in blocks of 64 rows: */
+    private static int distance(int m, int blocks, CharSequence columns,
+            long[] masks, char[] chars) {
+        long lastBit = 1L << ((m - 1) & 63);
+        long[] plus = new long[blocks];
+        long[] minus = new long[blocks];
+        Arrays.fill(plus, -1L);
+        int score = m;
+        for (int j = 0; j < columns.length(); j++) {
+            /* The first row is D(0,j) = j, its difference is +1: */
+            score += ApproximateSearch.nextColumn(plus, minus, masks, offset(
+                    columns.charAt(j), chars, blocks), 1, lastBit);
+        }
+        return score;
+    }
+
+    /* The offset of the equality masks of c: */
+    private static int offset(char c, char[] chars, int blocks) {
+        if (c < BadCharacterTable.LATIN_1) {
+            return c * blocks;
+        }
+        int index = Arrays.binarySearch(chars, c);
+        if (index < 0) {
+            index = chars.length;
+        }
+        return (BadCharacterTable.LATIN_1 + index) * blocks;
+    }
+}
@@ -1,10 +1,15 @@
 package com.quui.algorithms.string_matching;
 
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Vector;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -20,7 +25,12 @@ import org.junit.Test;
  * It can be extended using a refined version of the bad-character-shift rule
  * which improves efficiency for small alphabets, e.g. for usage in
  * bioinformatics (see Gusfield, p. 18) and by the strong good-suffix rule for
- * provable worst-case linear runtime (see Gusfield, p. 20). <p/>
+ * provable worst-case linear runtime (see Gusfield, p. 20). The latter is
+ * available as the {@link Engine#GOOD_SUFFIX} engine, which also stores the
+ * bad-character-shift rule in a primitive table. Patterns for that engine
+ * are preprocessed once and can be reused via {@link BoyerMoorePattern}. Both
+ * engines can report matches to a {@link MatchSink} instead of a list of
+ * boxed positions, e.g. to count them or to find the first one only. <p/>
  * 
  * As an alternative for even faster matching (dependent on the pattern length,
  * not the text length, after linear-time preprocessing) consider suffix-tree
@@ -28,10 +38,75 @@ import org.junit.Test;
  */
 public class BoyerMoore {
 
+	/** Engines */
+
+	/**
+	 * The available matching engines: the basic algorithm described here, and
+	 * an engine using a primitive bad-character table and the strong
+	 * good-suffix rule, with Galil's rule to skip the part of the pattern that
+	 * is known to match after an occurrence, for a worst-case linear runtime
+	 * and no allocation during the scan (see Gusfield, pp. 20 and 39).
+	 */
+	public enum Engine {
+		BAD_CHARACTER, GOOD_SUFFIX
+	}
+
+	private final Engine engine;
+
+	/**
+	 * Creates a matcher using the basic bad-character-shift rule only. This is
+	 * the only public constructor, as JUnit runs the tests below with it.
+	 */
+	public BoyerMoore() {
+		this(Engine.BAD_CHARACTER);
+	}
+
+	private BoyerMoore(Engine engine) {
+		this.engine = engine;
+	}
+
+	/** Returns a matcher using the given engine. */
+	public static BoyerMoore withEngine(Engine engine) {
+		return new BoyerMoore(engine);
+	}
+
 	/** Matching */
 
+	/** Returns the positions of all occurrences of the pattern in the text. */
 	public List<Integer> match(String pattern, String text) {
-		List<Integer> matches = new Vector<Integer>();
+		final List<Integer> matches = new ArrayList<Integer>();
+		match(pattern, text, new MatchSink() {
+			public boolean match(int position, int errors) {
+				matches.add(position);
+				return true;
+			}
+		});
+		return matches;
+	}
+
+	/** Returns the number of occurrences of the pattern in the text. */
+	public int count(String pattern, String text) {
+		MatchSink.Counter counter = new MatchSink.Counter();
+		match(pattern, text, counter);
+		return counter.count();
+	}
+
+	/** Returns the position of the first occurrence in the text, or -1. */
+	public int indexOf(String pattern, String text) {
+		MatchSink.First first = new MatchSink.First();
+		match(pattern, text, first);
+		return first.position();
+	}
+
+	/**
+	 * Reports the positions of all occurrences of the pattern in the text to
+	 * the sink, without boxing them. Returns false if the sink stopped the
+	 * search.
+	 */
+	public boolean match(String pattern, String text, MatchSink sink) {
+		if (engine == Engine.GOOD_SUFFIX) {
+			return BoyerMoorePattern.compile(pattern).match(text, sink);
+		}
 		/* <<lengths>>= */
 		/* We match a pattern of length $n$ in a text of length $m$: */
 		int m = text.length();
@@ -116,17 +191,20 @@ public class BoyerMoore {
 				/*
 				 * If the characters are equal and the pattern has been scanned
 				 * completely from right to left, we have a match at the
-				 * currently aligned position in the text. We store the match
-				 * and shift the pattern one position to the right:
+				 * currently aligned position in the text. We report the match
+				 * (stopping if the sink says so) and shift the pattern one
+				 * position to the right:
 				 */
 				else if (indexInPattern == 0) {
-					matches.add(alignedAt);
+					if (!sink.match(alignedAt, 0)) {
+						return false;
+					}
 					alignedAt++;
 				}
 				/* =<<match>> */
 			}
 		}
-		return matches;
+		return true;
 	}
 
 	/** Preprocessing */
@@ -165,4 +243,77 @@ public class BoyerMoore {
 				: "Failed"));
 		/* =<<usage>> */
 	}
+
+	/**
+	 * The good-suffix engine finds all matches, including overlapping matches
+	 * in periodic texts:
+	 */
+	@Test public void goodSuffix() {
+		BoyerMoore goodSuffix = BoyerMoore.withEngine(Engine.GOOD_SUFFIX);
+		assertEquals(Arrays.asList(1, 3), goodSuffix.match("ana", "bananas"));
+		assertEquals(Arrays.asList(0, 1, 2), goodSuffix.match("aaa", "aaaaa"));
+		assertEquals(Arrays.asList(1), goodSuffix.match("\u03bb\u03bc",
+				"a\u03bb\u03bcb"));
+		Random random = new Random(0);
+		for (int i = 0; i < 500; i++) {
+			String text = randomString(random, 1 + random.nextInt(60));
+			String pattern = randomString(random, 1 + random.nextInt(5));
+			assertEquals(naiveMatch(pattern, text), goodSuffix.match(pattern,
+					text));
+		}
+	}
+
+	/**
+	 * Both engines report to a sink, count and find the first match without
+	 * building a list:
+	 */
+	@Test public void sink() {
+		for (Engine engine : Engine.values()) {
+			BoyerMoore matcher = BoyerMoore.withEngine(engine);
+			assertEquals(3, matcher.count("ana", "anana ana"));
+			assertEquals(0, matcher.count("ana", "nanny"));
+			assertEquals(1, matcher.indexOf("ana", "bananana"));
+			assertEquals(-1, matcher.indexOf("ana", "nanny"));
+			final List<Integer> positions = new ArrayList<Integer>();
+			assertEquals(false, matcher.match("aa", "aaaa", new MatchSink() {
+				public boolean match(int position, int errors) {
+					positions.add(position);
+					return positions.size() < 2;
+				}
+			}));
+			assertEquals(Arrays.asList(0, 1), positions);
+			assertEquals(true, matcher.match("ab", "aaaa",
+					new MatchSink.Counter()));
+		}
+	}
+
+	/**
+	 * Compiled patterns are cached, so matching the same pattern again reuses
+	 * its preprocessing. The cache stays bounded, and a pattern in use
+	 * survives a burst of patterns used once:
+	 */
+	@Test public void compiledPattern() {
+		BoyerMoorePattern pattern = BoyerMoorePattern.compile("ana");
+		assertSame(pattern, BoyerMoorePattern.compile("ana"));
+		assertEquals(Arrays.asList(1, 3), pattern.match("bananas"));
+		assertEquals(Arrays.asList(0, 2, 6), pattern.match("anana ana"));
+		assertEquals(3, pattern.count("anana ana"));
+		assertEquals(1, pattern.indexOf("bananana"));
+		assertEquals(-1, pattern.indexOf("nanny"));
+		for (int i = 0; i < 4 * BoyerMoorePattern.CACHE_SIZE; i++) {
+			BoyerMoorePattern.compile("p" + i);
+			assertSame(pattern, BoyerMoorePattern.compile("ana"));
+		}
+		assertEquals(true,
+				BoyerMoorePattern.cacheSize() <= BoyerMoorePattern.CACHE_SIZE);
+	}
+
+	private static List<Integer> naiveMatch(String pattern, String text) {
+		List<Integer> matches = new ArrayList<Integer>();
+		for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern,
+				i + 1)) {
+			matches.add(i);
+		}
+		return matches;
+	}
 }
@@ -0,0 +1,248 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pattern preprocessed for the good-suffix engine of the
+ * [[Boyer-Moore string search algorithm (Java)|Boyer-Moore algorithm]]: the
+ * bad-character table and the good-suffix shifts are computed once, after
+ * which the pattern can be matched against any number of texts. Compiled
+ * patterns are immutable, so a single instance can be shared by concurrent
+ * threads. Compiled patterns are kept in a bounded least-recently-used cache,
+ * split into segments with a lock each, so compiling a pattern again is
+ * usually a lookup, and a pattern in frequent use is not evicted by a burst of
+ * patterns used once. Callers matching a pattern many times should still hold
+ * on to the compiled pattern.
+ */
+public final class BoyerMoorePattern implements Matcher {
+
+    /** The maximum number of compiled patterns kept in the cache. */
+    static final int CACHE_SIZE = 1024;
+
+    /*
+     * The cache segments, chosen by the top bits of the pattern's spread hash
+     * code; each evicts its least recently used pattern when full:
+     */
+    private static final int SEGMENT_BITS = 4;
+    private static final LruSegment[] CACHE = new LruSegment[1 << SEGMENT_BITS];
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new LruSegment(CACHE_SIZE / CACHE.length);
+        }
+    }
+
+    private final String pattern;
+    private final char[] p;
+    private final BadCharacterTable rightMostIndexes;
+    private final int[] goodSuffixShifts;
+    private final int matchShift;
+
+    private BoyerMoorePattern(String pattern) {
+        if (pattern.length() == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        this.pattern = pattern;
+        this.p = pattern.toCharArray();
+        this.rightMostIndexes = BadCharacterTable.of(pattern);
+        this.goodSuffixShifts = preprocessForGoodSuffixShift(p);
+        /*
+         * After an occurrence, we shift the pattern so that its longest proper
+         * prefix that is also a suffix is aligned with the end of the
+         * occurrence; that prefix is known to match (Galil's rule):
+         */
+        this.matchShift = p.length - goodSuffixShifts[p.length + 1];
+    }
+
+    /**
+     * Returns the compiled form of the given pattern, from the cache if the
+     * pattern has been compiled before and not been evicted since.
+     */
+    public static BoyerMoorePattern compile(String pattern) {
+        LruSegment segment = CACHE[(pattern.hashCode() * 0x9E3779B9) >>> (32
+                - SEGMENT_BITS)];
+        synchronized (segment) {
+            BoyerMoorePattern compiled = segment.get(pattern);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        /* Preprocess outside the lock; the first pattern cached wins: */
+        BoyerMoorePattern compiled = new BoyerMoorePattern(pattern);
+        synchronized (segment) {
+            BoyerMoorePattern previous = segment.get(pattern);
+            if (previous != null) {
+                return previous;
+            }
+            segment.put(pattern, compiled);
+        }
+        return compiled;
+    }
+
+    /* The number of compiled patterns currently in the cache: */
+    static int cacheSize() {
+        int size = 0;
+        for (LruSegment segment : CACHE) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /* A map in access order, evicting its eldest entry beyond the capacity: */
+    @SuppressWarnings("serial")
+    private static final class LruSegment extends
+            LinkedHashMap<String, BoyerMoorePattern> {
+        private final int capacity;
+
+        LruSegment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<String, BoyerMoorePattern> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /** Returns the pattern this instance was compiled from. */
+    public String pattern() {
+        return pattern;
+    }
+
+    /** Returns the length of the pattern. */
+    public int length() {
+        return p.length;
+    }
+
+    /** Returns the positions of all occurrences of the pattern in the text. */
+    public List<Integer> match(CharSequence text) {
+        final List<Integer> matches = new ArrayList<Integer>();
+        match(text, new MatchSink() {
+            public boolean match(int position, int errors) {
+                matches.add(position);
+                return true;
+            }
+        });
+        return matches;
+    }
+
+    /** Returns the number of occurrences of the pattern in the text. */
+    public int count(CharSequence text) {
+        MatchSink.Counter counter = new MatchSink.Counter();
+        match(text, counter);
+        return counter.count();
+    }
+
+    /** Returns the position of the first occurrence in the text, or -1. */
+    public int indexOf(CharSequence text) {
+        MatchSink.First first = new MatchSink.First();
+        match(text, first);
+        return first.position();
+    }
+
+    /**
+     * Reports the positions of all occurrences of the pattern in the text to
+     * the sink, without allocating. Returns false if the sink stopped the
+     * search.
+     */
+    public boolean match(CharSequence text, MatchSink sink) {
+        return match(text, 0, text.length(), sink);
+    }
+
+    public boolean match(CharSequence text, int from, int to, MatchSink sink) {
+        int n = p.length;
+        int known = 0;
+        int alignedAt = from;
+        while (alignedAt <= to - n) {
+            int indexInPattern = n - 1;
+            while (indexInPattern >= known
+                    && p[indexInPattern] == text.charAt(alignedAt
+                            + indexInPattern)) {
+                indexInPattern--;
+            }
+            if (indexInPattern < known) {
+                if (!sink.match(alignedAt, 0)) {
+                    return false;
+                }
+                alignedAt += matchShift;
+                known = n - matchShift;
+            } else {
+                /*
+                 * On a mismatch, we shift by the larger of the shifts given by
+                 * the bad-character and the good-suffix rules:
+                 */
+                int badCharacterShift = indexInPattern
+                        - rightMostIndexes.rightMost(text.charAt(alignedAt
+                                + indexInPattern));
+                alignedAt += Math.max(badCharacterShift,
+                        goodSuffixShifts[indexInPattern + 1]);
+                known = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /** Preprocessing for the good-suffix rule */
+    static int[] preprocessForGoodSuffixShift(char[] p) {
+        int n = p.length;
+        /*
+         * For each position j, N[j] is the length of the longest suffix of
+         * p[0..j] that is also a suffix of p, the Z values of the reversed
+         * pattern (Gusfield, p. 21):
+         */
+        int[] suffixes = new int[n];
+        suffixes[n - 1] = n;
+        int left = n - 1, right = n - 1;
+        for (int j = n - 2; j >= 0; j--) {
+            if (j > right && suffixes[j + n - 1 - left] < j - right) {
+                suffixes[j] = suffixes[j + n - 1 - left];
+            } else {
+                if (j < right) {
+                    right = j;
+                }
+                left = j;
+                while (right >= 0 && p[right] == p[right + n - 1 - left]) {
+                    right--;
+                }
+                suffixes[j] = left - right;
+            }
+        }
+        /*
+         * The shift for a good suffix p[k..n-1] (the entry k) is based on the
+         * longest prefix of p that is also a suffix of the good suffix (l'),
+         * which is overridden by the right-most copy of the good suffix in p
+         * that is not preceded by the same character (L'). Entry n is the
+         * shift for an empty good suffix, and entry n + 1 holds the length of
+         * the longest proper prefix of p that is also a suffix of p, for
+         * shifting after an occurrence:
+         */
+        int[] shifts = new int[n + 2];
+        int longestPrefix = 0;
+        for (int k = n - 1; k >= 1; k--) {
+            int length = n - k;
+            if (suffixes[length - 1] == length) {
+                longestPrefix = length;
+            }
+            shifts[k] = n - longestPrefix;
+        }
+        shifts[n] = 1;
+        shifts[n + 1] = longestPrefix;
+        for (int j = 0; j < n - 1; j++) {
+            if (suffixes[j] > 0) {
+                shifts[n - suffixes[j]] = n - 1 - j;
+            }
+        }
+        return shifts;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quui.algorithms.string_matching;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view of the bytes of a buffer as Latin-1 characters, so that all matchers
+ * can search a buffer, e.g. a memory-mapped file, without decoding it into a
+ * string first. Every byte is one character, which is exact for Latin-1 and
+ * ASCII content and for matching ASCII patterns in UTF-8 content. The view
+ * reads the buffer using absolute indices, independent of its position.
+ */
+public final class ByteCharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    /** Creates a view of the bytes from index 0 up to the buffer's limit. */
+    public ByteCharSequence(ByteBuffer buffer) {
+        this(buffer, 0, buffer.limit());
+    }
+
+    /** Creates a view of length bytes, starting at the given offset. */
+    public ByteCharSequence(ByteBuffer buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > buffer.capacity()) {
+            throw new IndexOutOfBoundsException("Offset " + offset
+                    + ", length " + length + ", capacity " + buffer.capacity());
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(int index) {
+        return (char) (buffer.get(offset + index) & 0xff);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Start " + start + ", end "
+                    + end + ", length " + length);
+        }
+        return new ByteCharSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
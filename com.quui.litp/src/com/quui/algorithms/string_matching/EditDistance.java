@@ -1,5 +1,11 @@
 package com.quui.algorithms.string_matching;
 
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Test;
 
 /**
@@ -11,6 +17,13 @@ import org.junit.Test;
  * extensions.
  */
 public class EditDistance {
+
+	/*
+	 * The length of the shorter string from which on the bit-vector algorithm
+	 * is faster than the DP, as its preprocessing is amortized:
+	 */
+	static final int BIT_VECTOR_THRESHOLD = 8;
+
 	public int compute(String s1, String s2) {
 
 		/* <<init>>= */
@@ -75,6 +88,143 @@ public class EditDistance {
 		/* =<<result>> */
 	}
 
+	/**
+	 * The same computation in linear space: as each row of the DP table only
+	 * depends on the row above, we only keep two rows, as wide as the shorter
+	 * of the two strings.
+	 */
+	public int computeLinearSpace(String s1, String s2) {
+		if (s1.length() < s2.length()) {
+			return computeLinearSpace(s2, s1);
+		}
+		int[] previous = new int[s2.length() + 1];
+		int[] current = new int[s2.length() + 1];
+		for (int j = 0; j < previous.length; j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= s1.length(); i++) {
+			current[0] = i;
+			char c = s1.charAt(i - 1);
+			for (int j = 1; j < current.length; j++) {
+				int cost = c == s2.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(previous[j - 1] + cost, Math.min(
+						previous[j] + 1, current[j - 1] + 1));
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[s2.length()];
+	}
+
+	/**
+	 * Computes the edit distances of one query to many targets, returned in
+	 * the order of the targets. The query is preprocessed only once for the
+	 * [[Bit-vector edit distance (Java)|bit-vector algorithm]], which then
+	 * scans each target, computing 64 cells of the DP table per operation.
+	 */
+	public int[] compute(String query, List<String> targets) {
+		return new BitVectorEditDistance(query).distances(targets);
+	}
+
+	/**
+	 * Computes the edit distance with the DP in linear space for short strings
+	 * and with the [[Bit-vector edit distance (Java)|bit-vector algorithm]]
+	 * otherwise, which computes a column of 64 cells with a few bit operations.
+	 */
+	public int distance(String s1, String s2) {
+		if (Math.min(s1.length(), s2.length()) < BIT_VECTOR_THRESHOLD) {
+			return computeLinearSpace(s1, s2);
+		}
+		return BitVectorEditDistance.distance(s1, s2);
+	}
+
+	/**
+	 * Computes the edit distance of very long strings in parallel, with the DP
+	 * table split into tiles computed in a [[Wavefront edit distance (Java)|
+	 * wavefront]] along its anti-diagonals, in linear space.
+	 */
+	public int computeParallel(String s1, String s2) {
+		return WavefrontEditDistance.distance(s1, s2);
+	}
+
+	/**
+	 * Returns an optimal edit transcript (Gusfield, p. 215) transforming s1
+	 * into s2, a string of M (match), R (replace), I (insert) and D (delete),
+	 * computed in linear space with [[Hirschberg (Java)|Hirschberg's method]].
+	 */
+	public String transcript(String s1, String s2) {
+		return Hirschberg.transcript(s1, s2);
+	}
+
+	/**
+	 * The computation bounded by a maximum distance maxK, returning the edit
+	 * distance if it is at most maxK, else maxK + 1. A cell D(i,j) with
+	 * |i-j| > maxK is more than maxK, as at least |i-j| insertions or
+	 * deletions are required, so only the diagonal band of width 2maxK+1 is
+	 * computed (Ukkonen 1985, Gusfield, p. 263), in linear space. As the
+	 * values along any path through the table never decrease, the computation
+	 * stops as soon as all values of a row exceed maxK. This takes O(maxK
+	 * min(n,m)) time. Throws an IllegalArgumentException if maxK is negative.
+	 */
+	public int compute(String s1, String s2, int maxK) {
+		if (maxK < 0) {
+			throw new IllegalArgumentException("Negative maxK: " + maxK);
+		}
+		if (s1.length() < s2.length()) {
+			return compute(s2, s1, maxK);
+		}
+		int n = s1.length();
+		int m = s2.length();
+		int exceeded = maxK + 1;
+		if (n - m > maxK) {
+			return exceeded;
+		}
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		for (int j = 0; j <= m; j++) {
+			previous[j] = Math.min(j, exceeded);
+		}
+		for (int i = 1; i <= n; i++) {
+			int rowMinimum = bandRow(i, s1.charAt(i - 1), s2, maxK, previous,
+					current);
+			if (rowMinimum > maxK) {
+				return exceeded;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[m];
+	}
+
+	/*
+	 * Computes row i, for the character c, of the table bounded by maxK from
+	 * the previous row, within the diagonal band only and with all values
+	 * capped at maxK + 1. Returns the minimum of the row:
+	 */
+	static int bandRow(int i, char c, String s2, int maxK, int[] previous,
+			int[] current) {
+		int m = s2.length();
+		int exceeded = maxK + 1;
+		int low = Math.max(1, i - maxK);
+		int high = Math.min(m, i + maxK);
+		current[low - 1] = low == 1 ? Math.min(i, exceeded) : exceeded;
+		int rowMinimum = current[low - 1];
+		for (int j = low; j <= high; j++) {
+			int cost = c == s2.charAt(j - 1) ? 0 : 1;
+			int value = Math.min(previous[j - 1] + cost, Math.min(
+					previous[j] + 1, current[j - 1] + 1));
+			current[j] = Math.min(value, exceeded);
+			rowMinimum = Math.min(rowMinimum, current[j]);
+		}
+		/* The cell right of the band is read by the next row: */
+		if (high < m) {
+			current[high + 1] = exceeded;
+		}
+		return rowMinimum;
+	}
+
 	@Test public void main() {
 		/* <<usage>>= */
 		/* Compute the edit distance for some samples, including empty strings: */
@@ -85,4 +235,31 @@ public class EditDistance {
 		System.out.println(distance.compute("", ""));
 		/* =<<usage>> */
 	}
+
+	/**
+	 * The linear space and bounded computations agree with the full DP table,
+	 * up to the bound:
+	 */
+	@Test public void linearSpaceAndBounded() {
+		EditDistance distance = new EditDistance();
+		assertEquals(5, distance.computeLinearSpace("vintner", "writers"));
+		assertEquals(5, distance.compute("vintner", "writers", 5));
+		assertEquals(3, distance.compute("vintner", "writers", 2));
+		Random random = new Random(0);
+		for (int i = 0; i < 500; i++) {
+			String s1 = randomString(random, random.nextInt(20));
+			String s2 = randomString(random, random.nextInt(20));
+			int expected = distance.compute(s1, s2);
+			assertEquals(expected, distance.computeLinearSpace(s1, s2));
+			int maxK = random.nextInt(10);
+			assertEquals(Math.min(expected, maxK + 1), distance.compute(s1, s2,
+					maxK));
+		}
+	}
+
+	/** A negative bound is rejected, not reported as distance 0: */
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeBound() {
+		new EditDistance().compute("vintner", "writers", -1);
+	}
 }
@@ -0,0 +1,211 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An index of words for looking up all words within a given
+ * [[Edit distance (Java)|edit distance]] of a query, without comparing the
+ * query to every word. The words are stored in a
+ * [http://en.wikipedia.org/wiki/Trie trie], and a lookup walks the trie
+ * depth-first, computing the rows of the edit distance DP table of each word
+ * with the query: the row for a node is computed from the row of its parent
+ * and the character of the node, so words with a common prefix share the
+ * rows of that prefix. As the values along any path through the table never
+ * decrease, the subtree of a node is skipped as soon as all values of its row
+ * exceed k, which limits the walk to the part of the trie close to the query.
+ * Like in the bounded computation of the edit distance, only the diagonal
+ * band of each row with values of at most k is computed, in O(k) time per
+ * node. The trie is stored in flat arrays. Lookups can run concurrently,
+ * additions lock the index.
+ */
+public final class FuzzyDictionary {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /* The character, first child and next sibling of each node, root 0: */
+    private char[] chars = new char[16];
+    private int[] firstChild = new int[16];
+    private int[] nextSibling = new int[16];
+    /* Whether a word ends at each node: */
+    private boolean[] terminal = new boolean[16];
+    private int nodes = 1;
+    private int size;
+    /* The length of the longest word, the depth of the trie: */
+    private int depth;
+
+    /** Creates an empty dictionary. */
+    public FuzzyDictionary() {
+        firstChild[0] = -1;
+        nextSibling[0] = -1;
+    }
+
+    /** Creates a dictionary of the given words. */
+    public FuzzyDictionary(Collection<String> words) {
+        this();
+        addAll(words);
+    }
+
+    /**
+     * Adds a word to the dictionary. Returns false if it was contained
+     * already.
+     */
+    public boolean add(String word) {
+        lock.writeLock().lock();
+        try {
+            return insert(word);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds all given words to the dictionary, locking it once. Returns the
+     * number of words that were not contained already.
+     */
+    public int addAll(Collection<String> words) {
+        lock.writeLock().lock();
+        try {
+            int added = 0;
+            for (String word : words) {
+                if (insert(word)) {
+                    added++;
+                }
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns the number of words in the dictionary. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns true if the dictionary contains the given word. */
+    public boolean contains(String word) {
+        lock.readLock().lock();
+        try {
+            int node = 0;
+            for (int i = 0; i < word.length() && node >= 0; i++) {
+                node = child(node, word.charAt(i));
+            }
+            return node >= 0 && terminal[node];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all words of the dictionary within edit distance k of the
+     * query, in no particular order.
+     */
+    public List<String> lookup(String query, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k: " + k);
+        }
+        List<String> result = new ArrayList<String>();
+        int m = query.length();
+        lock.readLock().lock();
+        try {
+            /* The row of each depth on the current path, and its characters: */
+            int[][] rows = new int[depth + 1][m + 1];
+            char[] path = new char[depth];
+            int exceeded = k + 1;
+            for (int j = 0; j <= m; j++) {
+                rows[0][j] = Math.min(j, exceeded);
+            }
+            /* The nodes to visit, with their depths: */
+            int[] stack = new int[16];
+            int[] depths = new int[16];
+            int top = 1;
+            while (top > 0) {
+                top--;
+                int node = stack[top];
+                int d = depths[top];
+                int[] current = rows[d];
+                int minimum = current[0];
+                if (d > 0) {
+                    char c = chars[node];
+                    path[d - 1] = c;
+                    /* Only the cells within the diagonal band can be <= k: */
+                    minimum = EditDistance.bandRow(d, c, query, k, rows[d - 1],
+                            current);
+                }
+                if (terminal[node] && Math.abs(d - m) <= k && current[m] <= k) {
+                    result.add(new String(path, 0, d));
+                }
+                if (minimum > k) {
+                    continue;
+                }
+                for (int child = firstChild[node]; child >= 0; child =
+                        nextSibling[child]) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * top);
+                        depths = Arrays.copyOf(depths, 2 * top);
+                    }
+                    stack[top] = child;
+                    depths[top++] = d + 1;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* Inserts a word, the caller holding the write lock: */
+    private boolean insert(String word) {
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            int child = child(node, c);
+            if (child < 0) {
+                child = append(c);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+        }
+        if (terminal[node]) {
+            return false;
+        }
+        terminal[node] = true;
+        depth = Math.max(depth, word.length());
+        size++;
+        return true;
+    }
+
+    /* Returns the child of the node with the character c, or -1: */
+    private int child(int node, char c) {
+        int child = firstChild[node];
+        while (child >= 0 && chars[child] != c) {
+            child = nextSibling[child];
+        }
+        return child;
+    }
+
+    /* Appends a node without children, returning its index: */
+    private int append(char c) {
+        if (nodes == chars.length) {
+            int length = 2 * nodes;
+            chars = Arrays.copyOf(chars, length);
+            firstChild = Arrays.copyOf(firstChild, length);
+            nextSibling = Arrays.copyOf(nextSibling, length);
+            terminal = Arrays.copyOf(terminal, length);
+        }
+        chars[nodes] = c;
+        firstChild[nodes] = -1;
+        nextSibling[nodes] = -1;
+        return nodes++;
+    }
+}
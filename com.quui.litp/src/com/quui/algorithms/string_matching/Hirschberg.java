@@ -0,0 +1,196 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.quui.algorithms.ForkJoinPools;
+
+/**
+ * Computation of an optimal edit transcript of two strings in linear space,
+ * using the divide and conquer method of Hirschberg (1975, Gusfield
+ * 1999:256). The transcript is a string of the operations transforming s_1
+ * into s_2 (Gusfield 1999:215): M (match), R (replace), I (insert) and D
+ * (delete). Instead of keeping the full DP table for the traceback, only the
+ * middle row i = n/2 is located on an optimal path: the last row of the table
+ * for the first half of s_1 and the last row of the table for the reversed
+ * second half of s_1, both computed in linear space, give the distance of
+ * each split of s_2 at the middle row, and the split with the smallest sum is
+ * on an optimal path. The two halves are then solved recursively, as tasks of
+ * a [http://en.wikipedia.org/wiki/Fork-join_model fork/join] pool. Small
+ * subproblems are solved with a full DP table and a traceback. This takes
+ * O(nm) time and O(n+m) space.
+ */
+public final class Hirschberg {
+
+    /** Subproblems of at most this many DP cells use a full table. */
+    static final int FULL_TABLE_CELLS = 1 << 12;
+
+    /** Subproblems of at least this many DP cells are split in parallel. */
+    static final int PARALLEL_CELLS = 1 << 16;
+
+    private Hirschberg() {
+    }
+
+    /**
+     * Returns an optimal edit transcript transforming s1 into s2, computed in
+     * the {@link ForkJoinPools#shared() shared pool}.
+     */
+    public static String transcript(String s1, String s2) {
+        return transcript(s1, s2, ForkJoinPools.shared());
+    }
+
+    /**
+     * Returns an optimal edit transcript transforming s1 into s2, computed in
+     * the given pool.
+     */
+    public static String transcript(String s1, String s2, ForkJoinPool pool) {
+        return pool.invoke(new TranscriptTask(s1, s2, 0, s1.length(), 0, s2
+                .length()));
+    }
+
+    /** Aligns s1 from from1 to to1 with s2 from from2 to to2 (exclusive). */
+    private static final class TranscriptTask extends RecursiveTask<String> {
+        private static final long serialVersionUID = 1L;
+        private final String s1;
+        private final String s2;
+        private final int from1;
+        private final int to1;
+        private final int from2;
+        private final int to2;
+
+        TranscriptTask(String s1, String s2, int from1, int to1, int from2,
+                int to2) {
+            this.s1 = s1;
+            this.s2 = s2;
+            this.from1 = from1;
+            this.to1 = to1;
+            this.from2 = from2;
+            this.to2 = to2;
+        }
+
+        @Override
+        protected String compute() {
+            int n = to1 - from1;
+            int m = to2 - from2;
+            long cells = (n + 1L) * (m + 1L);
+            if (n <= 1 || cells <= FULL_TABLE_CELLS) {
+                return fullTable(s1, s2, from1, to1, from2, to2);
+            }
+            int middle = (from1 + to1) >>> 1;
+            int[] forward = lastRow(s1, s2, from1, middle, from2, to2);
+            int[] backward = lastReversedRow(s1, s2, middle, to1, from2, to2);
+            /* The split of s2 with the smallest distance is optimal: */
+            int split = 0;
+            for (int k = 1; k <= m; k++) {
+                if (forward[k] + backward[m - k] < forward[split]
+                        + backward[m - split]) {
+                    split = k;
+                }
+            }
+            TranscriptTask first = new TranscriptTask(s1, s2, from1, middle,
+                    from2, from2 + split);
+            TranscriptTask second = new TranscriptTask(s1, s2, middle, to1,
+                    from2 + split, to2);
+            if (cells < PARALLEL_CELLS) {
+                return first.compute() + second.compute();
+            }
+            first.fork();
+            String end = second.compute();
+            return first.join() + end;
+        }
+    }
+
+    /*
+     * The last row of the table for s1 from from1 to to1 and s2 from from2 to
+     * to2: the distances of the part of s1 and each prefix of the part of s2.
+     */
+    private static int[] lastRow(String s1, String s2, int from1, int to1,
+            int from2, int to2) {
+        int m = to2 - from2;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = from1; i < to1; i++) {
+            current[0] = previous[0] + 1;
+            char c = s1.charAt(i);
+            for (int j = 1; j <= m; j++) {
+                int cost = c == s2.charAt(from2 + j - 1) ? 0 : 1;
+                current[j] = Math.min(previous[j - 1] + cost, Math.min(
+                        previous[j] + 1, current[j - 1] + 1));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous;
+    }
+
+    /*
+     * The last row of the table for the reversed parts: the distances of the
+     * part of s1 and each suffix of the part of s2, by the suffix length.
+     */
+    private static int[] lastReversedRow(String s1, String s2, int from1,
+            int to1, int from2, int to2) {
+        int m = to2 - from2;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = to1 - 1; i >= from1; i--) {
+            current[0] = previous[0] + 1;
+            char c = s1.charAt(i);
+            for (int j = 1; j <= m; j++) {
+                int cost = c == s2.charAt(to2 - j) ? 0 : 1;
+                current[j] = Math.min(previous[j - 1] + cost, Math.min(
+                        previous[j] + 1, current[j - 1] + 1));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous;
+    }
+
+    /* The transcript of a small subproblem, traced back in the full table: */
+    private static String fullTable(String s1, String s2, int from1, int to1,
+            int from2, int to2) {
+        int n = to1 - from1;
+        int m = to2 - from2;
+        int[][] dp = new int[n + 1][m + 1];
+        for (int i = 0; i <= n; i++) {
+            for (int j = 0; j <= m; j++) {
+                if (i == 0 || j == 0) {
+                    dp[i][j] = i + j;
+                } else {
+                    char c1 = s1.charAt(from1 + i - 1);
+                    int cost = c1 == s2.charAt(from2 + j - 1) ? 0 : 1;
+                    dp[i][j] = Math.min(dp[i - 1][j - 1] + cost, Math.min(
+                            dp[i - 1][j] + 1, dp[i][j - 1] + 1));
+                }
+            }
+        }
+        StringBuilder transcript = new StringBuilder();
+        int i = n;
+        int j = m;
+        while (i > 0 || j > 0) {
+            boolean same = i > 0 && j > 0
+                    && s1.charAt(from1 + i - 1) == s2.charAt(from2 + j - 1);
+            if (i > 0 && j > 0
+                    && dp[i][j] == dp[i - 1][j - 1] + (same ? 0 : 1)) {
+                transcript.append(same ? 'M' : 'R');
+                i--;
+                j--;
+            } else if (i > 0 && dp[i][j] == dp[i - 1][j] + 1) {
+                transcript.append('D');
+                i--;
+            } else {
+                transcript.append('I');
+                j--;
+            }
+        }
+        return transcript.reverse().toString();
+    }
+}
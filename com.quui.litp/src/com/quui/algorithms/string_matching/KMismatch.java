@@ -16,7 +16,8 @@ import java.util.Collection;
  * [http://en.wikipedia.org/wiki/Suffix_tree suffix trees], it has a runtime
  * complexity of ''O(km)'', where m is the length of the text. This
  * implementation uses a [[Longest common extension (Java)|simple computation]]
- * of the ''lce''.
+ * of the ''lce''. For a bit-parallel alternative processing the text in a
+ * single pass, see {@link ShiftAddKMismatch}.
  */
 public class KMismatch {
     /**
@@ -27,26 +28,67 @@ public class KMismatch {
      * are required the runtime complexity is ''O(km)'', where k is the length
      * of the text (Gusfield 1999:200). The method takes three parameters, the
      * text, the pattern and the number of allowed mismatches. It retuns a
-     * collection of strings, the matching substrings. The algorithm consists of
-     * four steps:
+     * collection of strings, the matching substrings, which are found by the
+     * allocation-free matching method below. The algorithm consists of four
+     * steps:
      */
-    public static Collection<String> getMatches(String t, String p, int k) {
-        Collection<String> result = new ArrayList<String>();
-        for (int i = 0; i < t.length(); i++) {
+    public static Collection<String> getMatches(final String t, String p,
+            int k) {
+        final Collection<String> result = new ArrayList<String>();
+        final int n = p.length();
+        match(t, p, k, new MatchSink() {
+            public boolean match(int position, int errors) {
+                result.add(t.substring(position, position + n));
+                return true;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The same matching without allocating: the start position and the
+     * number of mismatches of each match are reported to the sink. Returns
+     * false if the sink stopped the search.
+     */
+    public static boolean match(CharSequence t, CharSequence p, int k,
+            MatchSink sink) {
+        return match(t, 0, t.length(), p, k, sink);
+    }
+
+    /**
+     * Matching in a range of the text only: reports the k-mismatch
+     * occurrences lying completely within the range from (inclusive) to
+     * (exclusive) of t.
+     */
+    public static boolean match(CharSequence t, int from, int to,
+            CharSequence p, int k, MatchSink sink) {
+        return match(t, from, to, p, k, SimpleLongestCommonExtension.bind(p,
+                t), sink);
+    }
+
+    /**
+     * Matching with a given ''lce'' computation for p and t, e.g. a
+     * {@link SuffixArrayLongestCommonExtension}, which answers each query in
+     * constant time for a total runtime of ''O(km)''.
+     */
+    public static boolean match(CharSequence t, int from, int to,
+            CharSequence p, int k, LongestCommonExtension lce, MatchSink sink) {
+        int n = p.length();
+        for (int i = from; i <= to - n; i++) {
             // Step 1: Set j to 1 and h to i and count to 0.
             int j = 0;
             int h = i;
             int count = 0;
-            int n = p.length();
             while (true) {
                 // Step 2: Compute the length L of the longest common extension
                 // starting at positions j of P and h of T:
-                int L = SimpleLongestCommonExtension.longestCommonExtension(p, j,
-                        t, h);
+                int L = lce.longestCommonExtension(j, h);
                 // Step 3: If j + L = n + 1, then a k-mismatch of P occurs in T
                 // starting at i (in fact, only count mismatches occur); stop.
                 if (j + 1 + L == n + 1) {
-                    result.add(t.substring(i, i + n));
+                    if (!sink.match(i, count)) {
+                        return false;
+                    }
                     break;
                 }
                 // Step 4: If count >= k, then increment count by one, set j to
@@ -63,7 +105,35 @@ public class KMismatch {
             }
 
         }
-        return result;
+        return true;
+    }
+
+    /** Returns a {@link Matcher} for k-mismatch occurrences of p. */
+    public static Matcher matcher(final CharSequence p, final int k) {
+        return new Matcher() {
+            public int length() {
+                return p.length();
+            }
+
+            public boolean match(CharSequence text, int from, int to,
+                    MatchSink sink) {
+                return KMismatch.match(text, from, to, p, k, sink);
+            }
+        };
+    }
+
+    /** Returns the number of k-mismatch occurrences of p in t. */
+    public static int count(CharSequence t, CharSequence p, int k) {
+        MatchSink.Counter counter = new MatchSink.Counter();
+        match(t, p, k, counter);
+        return counter.count();
+    }
+
+    /** Returns the position of the first k-mismatch occurrence, or -1. */
+    public static int indexOf(CharSequence t, CharSequence p, int k) {
+        MatchSink.First first = new MatchSink.First();
+        match(t, p, k, first);
+        return first.position();
     }
 
     /** A JUnit 4 unit test to demonstrate the usage: */
@@ -71,5 +141,7 @@ public class KMismatch {
     public void testGetMismatches() {
         Collection<String> results = getMatches("abentbananaend", "bend", 2);
         assertEquals(Arrays.asList("bent", "bana", "aend"), results);
+        assertEquals(3, count("abentbananaend", "bend", 2));
+        assertEquals(1, indexOf("abentbananaend", "bend", 2));
     }
 }
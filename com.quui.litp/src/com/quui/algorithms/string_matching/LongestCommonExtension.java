@@ -0,0 +1,17 @@
+package com.quui.algorithms.string_matching;
+
+/**
+ * The computation of the '''longest common extension''' ('''lce''') of two
+ * given sequences, beginning at two given indices (Gusfield 1999:196), as
+ * used by [[Matching with wildcards (Java)|matching with wildcards]] and
+ * [[K-mismatch (Java)|k-mismatch]] matching. Implementations are bound to
+ * their two sequences, which allows preprocessing them for fast queries.
+ */
+public interface LongestCommonExtension {
+
+    /**
+     * Returns the length of the longest common extension starting at i1 in
+     * the first and at i2 in the second sequence.
+     */
+    int longestCommonExtension(int i1, int i2);
+}
@@ -0,0 +1,60 @@
+package com.quui.algorithms.string_matching;
+
+/**
+ * Receives the occurrences found by a matcher, one call per occurrence, so
+ * that matching itself does not need to allocate any memory: the position of
+ * the occurrence in the text and the number of errors (e.g. mismatches) of
+ * the occurrence, which is 0 for exact matchers. Returns false to stop the
+ * search. The nested sinks implement the common count-only and first-match
+ * modes and can be reused for multiple searches.
+ */
+public interface MatchSink {
+
+    boolean match(int position, int errors);
+
+    /** Counts the occurrences. */
+    public static final class Counter implements MatchSink {
+        private int count;
+
+        public boolean match(int position, int errors) {
+            count++;
+            return true;
+        }
+
+        /** Returns the number of occurrences found since the last reset. */
+        public int count() {
+            return count;
+        }
+
+        public void reset() {
+            count = 0;
+        }
+    }
+
+    /** Stops at the first occurrence. */
+    public static final class First implements MatchSink {
+        private int position = -1;
+        private int errors = -1;
+
+        public boolean match(int position, int errors) {
+            this.position = position;
+            this.errors = errors;
+            return false;
+        }
+
+        /** Returns the position of the first occurrence, or -1. */
+        public int position() {
+            return position;
+        }
+
+        /** Returns the errors of the first occurrence, or -1. */
+        public int errors() {
+            return errors;
+        }
+
+        public void reset() {
+            position = -1;
+            errors = -1;
+        }
+    }
+}
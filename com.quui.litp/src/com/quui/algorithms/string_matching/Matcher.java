@@ -0,0 +1,20 @@
+package com.quui.algorithms.string_matching;
+
+/**
+ * A pattern prepared for matching in any range of a text, reporting its
+ * occurrences to a {@link MatchSink}. Matching only a range of a text allows
+ * to split a text into chunks which are searched independently, e.g. in
+ * parallel, see {@link ParallelSearch}.
+ */
+public interface Matcher {
+
+    /** Returns the number of text characters covered by an occurrence. */
+    int length();
+
+    /**
+     * Reports all occurrences lying completely within the range from (inclusive)
+     * to (exclusive) of the text to the sink, with their positions in the text.
+     * Returns false if the sink stopped the search.
+     */
+    boolean match(CharSequence text, int from, int to, MatchSink sink);
+}
@@ -0,0 +1,126 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.quui.algorithms.ForkJoinPools;
+
+/**
+ * Parallel search for the occurrences of a pattern in a large text: the text
+ * is split into chunks of a given size, each extended by the length of the
+ * pattern minus one, so that every occurrence lies completely within the
+ * chunk it starts in. The chunks are searched with a {@link Matcher} as
+ * tasks of a [http://en.wikipedia.org/wiki/Fork-join_model fork/join] pool,
+ * which are split recursively until a task covers a single chunk. The
+ * positions found in the chunks are merged in order.
+ */
+public final class ParallelSearch {
+
+    /** The default number of start positions searched by a single task. */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private ParallelSearch() {
+    }
+
+    /**
+     * Returns the ordered positions of all occurrences in the text, searched
+     * in chunks of the default size in the
+     * {@link ForkJoinPools#shared() shared pool}.
+     */
+    public static int[] search(Matcher matcher, CharSequence text) {
+        return search(matcher, text, ForkJoinPools.shared(),
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the ordered positions of all occurrences in the text, searched
+     * in chunks of the given size in the given pool.
+     */
+    public static int[] search(Matcher matcher, CharSequence text,
+            ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: "
+                    + chunkSize);
+        }
+        int starts = text.length() - matcher.length() + 1;
+        if (starts <= 0) {
+            return new int[0];
+        }
+        int chunks = (int) ((starts + (long) chunkSize - 1) / chunkSize);
+        return pool.invoke(new SearchTask(matcher, text, chunkSize, 0, chunks));
+    }
+
+    /** Searches the chunks from first (inclusive) to last (exclusive). */
+    private static final class SearchTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+        private final Matcher matcher;
+        private final CharSequence text;
+        private final int chunkSize;
+        private final int first;
+        private final int last;
+
+        SearchTask(Matcher matcher, CharSequence text, int chunkSize,
+                int first, int last) {
+            this.matcher = matcher;
+            this.text = text;
+            this.chunkSize = chunkSize;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (last - first == 1) {
+                long from = (long) first * chunkSize;
+                long to = Math.min(text.length(), from + chunkSize
+                        + matcher.length() - 1);
+                Positions positions = new Positions();
+                matcher.match(text, (int) from, (int) to, positions);
+                return positions.toArray();
+            }
+            int middle = (first + last) >>> 1;
+            SearchTask left = new SearchTask(matcher, text, chunkSize, first,
+                    middle);
+            left.fork();
+            int[] right = new SearchTask(matcher, text, chunkSize, middle,
+                    last).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Appends the positions of the right chunks to those of the left chunks,
+     * which are all smaller, skipping duplicates at the border.
+     */
+    static int[] merge(int[] left, int[] right) {
+        int skip = 0;
+        if (left.length > 0) {
+            int last = left[left.length - 1];
+            while (skip < right.length && right[skip] <= last) {
+                skip++;
+            }
+        }
+        int[] result = Arrays.copyOf(left, left.length + right.length - skip);
+        System.arraycopy(right, skip, result, left.length, right.length - skip);
+        return result;
+    }
+
+    /** Collects positions in a growing primitive array. */
+    private static final class Positions implements MatchSink {
+        private int[] positions = new int[16];
+        private int size;
+
+        public boolean match(int position, int errors) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
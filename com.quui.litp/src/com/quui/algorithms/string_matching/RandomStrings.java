@@ -0,0 +1,27 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Random;
+
+/**
+ * Random strings over small alphabets, for the randomized tests in this
+ * package that compare an algorithm against a simple reference.
+ */
+final class RandomStrings {
+
+    private RandomStrings() {
+    }
+
+    /** A random string of the given length over 'a' to 'c'. */
+    static String randomString(Random random, int length) {
+        return randomString(random, length, "abc");
+    }
+
+    /** A random string of the given length over the alphabet's chars. */
+    static String randomString(Random random, int length, String alphabet) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
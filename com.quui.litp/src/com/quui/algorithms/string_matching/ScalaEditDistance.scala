@@ -67,6 +67,38 @@ def distance(s1: String, s2: String): Int = {
       List(del, ins, rep) min
     }
   }
+
+  /**
+   * The same computation without allocations per cell: as each row of the DP table only depends 
+   * on the row above, we keep two rows, as wide as the shorter string, and fill them in loops.
+   * 
+   * @param s1 The first string
+   * @param s2 The second string
+   * @return The edit distance of the two strings
+   */
+  def linearSpaceDistance(s1: String, s2: String): Int = {
+    if (s1.length < s2.length) return linearSpaceDistance(s2, s1)
+    var previous = new Array[Int](s2.length + 1)
+    var current = new Array[Int](s2.length + 1)
+    var j = 0
+    while (j <= s2.length) { previous(j) = j; j += 1 }
+    var i = 1
+    while (i <= s1.length) {
+      current(0) = i
+      val c = s1.charAt(i - 1)
+      j = 1
+      while (j <= s2.length) {
+        val rep = previous(j - 1) + (if (c == s2.charAt(j - 1)) 0 else 1)
+        current(j) = math.min(rep, math.min(previous(j) + 1, current(j - 1) + 1))
+        j += 1
+      }
+      val swap = previous
+      previous = current
+      current = swap
+      i += 1
+    }
+    previous(s2.length)
+  }
 }
 
 object ScalaEditDistanceRunner extends Application {
@@ -85,6 +117,73 @@ object ScalaEditDistanceRunner extends Application {
       expect(2) { edit.distance("he", "") }
       expect(2) { edit.distance("", "he") }
       expect(0) { edit.distance("nette rehe retten", "nette rehe retten") }
+      /* The two-row computation gives the same results: */
+      expect(2) { edit.linearSpaceDistance("ehe", "reh") }
+      expect(2) { edit.linearSpaceDistance("eber", "leder") }
+      expect(0) { edit.linearSpaceDistance("", "")}
+      expect(2) { edit.linearSpaceDistance("he", "") }
+      expect(2) { edit.linearSpaceDistance("", "he") }
+      expect(5) { edit.linearSpaceDistance("vintner", "writers") }
+  }
+}
+
+/**
+ * Compares the Scala and the Java edit distance implementations on identical random inputs: all 
+ * must compute the same distances, and their runtimes are reported to track the gap.
+ */
+object ScalaEditDistanceBenchmark {
+
+  val random = new scala.util.Random(0)
+  val pairs = 100
+  val rounds = 10
+  val minNanos = 500000000L
+
+  /* In a main method, not in the body of an Application, which runs in a static initializer: */
+  def main(args: Array[String]) {
+    val scalaEdit = new ScalaEditDistance()
+    val javaEdit = new EditDistance()
+    for (length <- List(10, 100, 300)) {
+      val inputs = Array.tabulate(pairs)(_ => (randomString(length), randomString(length)))
+      /* All implementations must agree before we compare them: */
+      for ((s1, s2) <- inputs) {
+        val expected = javaEdit.compute(s1, s2)
+        val results = List(scalaEdit.distance(s1, s2), scalaEdit.linearSpaceDistance(s1, s2),
+            javaEdit.computeLinearSpace(s1, s2), javaEdit.distance(s1, s2))
+        if (results.exists(_ != expected))
+          error("Different distances for " + s1 + ", " + s2 + ": " + expected + ", " + results)
+      }
+      println("Length " + length + ", nanoseconds per pair:")
+      report("Scala distance", inputs, (s1, s2) => scalaEdit.distance(s1, s2))
+      report("Scala linearSpaceDistance", inputs, (s1, s2) => scalaEdit.linearSpaceDistance(s1, s2))
+      report("Java compute", inputs, (s1, s2) => javaEdit.compute(s1, s2))
+      report("Java computeLinearSpace", inputs, (s1, s2) => javaEdit.computeLinearSpace(s1, s2))
+      report("Java distance", inputs, (s1, s2) => javaEdit.distance(s1, s2))
+    }
+  }
+
+  /*
+   * Reports the best time of all rounds, the first rounds warming up the JIT, and the sum of the
+   * distances of a round, equal for all implementations. Short inputs are repeated for at least
+   * minNanos, as a few rounds of them are too short to warm up:
+   */
+  def report(name: String, inputs: Array[(String, String)], f: (String, String) => Int) = {
+    var best = Long.MaxValue
+    var sum = 0L
+    var round = 0
+    val end = System.nanoTime + minNanos
+    while (round < rounds || System.nanoTime < end) {
+      val start = System.nanoTime
+      for ((s1, s2) <- inputs) sum += f(s1, s2)
+      best = math.min(best, System.nanoTime - start)
+      round += 1
+    }
+    println("  " + name + ": " + best / inputs.length + " (" + sum / round + ")")
+  }
+
+  def randomString(length: Int) = {
+    val builder = new StringBuilder
+    for (i <- 1 to length) builder.append(('a' + random.nextInt(4)).toChar)
+    builder.toString
   }
 }
 
@@ -0,0 +1,156 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+
+/**
+ * Bit-parallel string matching with at most ''k'' mismatches, using the
+ * ''shift-add'' algorithm (Baeza-Yates & Gonnet 1992), as an alternative to
+ * the [[K-mismatch (Java)|lce based k-mismatch matching]]. For each pattern
+ * position i, the state holds a counter of the mismatches between the first
+ * i + 1 pattern characters and the text ending at the current character. The
+ * counters are packed into the bit fields of longs, so that all counters are
+ * advanced by a single shift and add per word: shifting moves each counter to
+ * the next pattern position, adding the mask of the current text character
+ * increments the counters of all positions that mismatch. Each field has one
+ * bit more than needed for k, and this overflow bit is moved into a separate
+ * state after every step, so counters never carry into their neighbours.
+ * With ''w'' bits per word, the text is processed in one pass in
+ * ''O(n ceil(m log k / w))'' time.
+ */
+public final class ShiftAddKMismatch implements Matcher {
+
+    private final String pattern;
+    private final int k;
+    private final int length;
+    /* The bits per counter, the counters per word and the words: */
+    private final int bits;
+    private final int fields;
+    private final int words;
+    private final long fieldMask;
+    private final long wordMask;
+    /* The overflow bits of all counters in a word: */
+    private final long overflowBits;
+    /* The masks of the Latin-1 characters, words longs per character: */
+    private final long[] latin1Masks;
+    /* The masks of the other pattern characters, sorted by character: */
+    private final char[] chars;
+    private final long[] charMasks;
+    /* The mask of all other characters, mismatching every position: */
+    private final long[] mismatchMask;
+
+    /** Compiles the given pattern for at most k mismatches. */
+    public ShiftAddKMismatch(String pattern, int k) {
+        if (pattern.length() == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k: " + k);
+        }
+        this.pattern = pattern;
+        this.k = k;
+        length = pattern.length();
+        bits = 33 - Integer.numberOfLeadingZeros(k);
+        fields = 64 / bits;
+        words = (length + fields - 1) / fields;
+        fieldMask = (1L << bits) - 1;
+        wordMask = fields * bits == 64 ? -1L : (1L << (fields * bits)) - 1;
+        long overflow = 0;
+        long ones = 0;
+        for (int f = 0; f < fields; f++) {
+            overflow |= 1L << (f * bits + bits - 1);
+            ones |= 1L << (f * bits);
+        }
+        overflowBits = overflow;
+        mismatchMask = new long[words];
+        Arrays.fill(mismatchMask, ones);
+        latin1Masks = new long[BadCharacterTable.LATIN_1 * words];
+        for (int c = 0; c < BadCharacterTable.LATIN_1; c++) {
+            setMask(latin1Masks, c * words, (char) c);
+        }
+        char[] sorted = pattern.toCharArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (char c : sorted) {
+            if (c >= BadCharacterTable.LATIN_1
+                    && (distinct == 0 || sorted[distinct - 1] != c)) {
+                sorted[distinct++] = c;
+            }
+        }
+        chars = Arrays.copyOf(sorted, distinct);
+        charMasks = new long[distinct * words];
+        for (int i = 0; i < distinct; i++) {
+            setMask(charMasks, i * words, chars[i]);
+        }
+    }
+
+    /** Returns the pattern this instance was compiled from. */
+    public String pattern() {
+        return pattern;
+    }
+
+    /** Returns the length of the pattern. */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Reports the occurrences with at most k mismatches within the range of
+     * the text to the sink, with their number of mismatches.
+     */
+    public boolean match(CharSequence text, int from, int to, MatchSink sink) {
+        int lastWord = (length - 1) / fields;
+        int lastShift = ((length - 1) % fields) * bits;
+        int topShift = (fields - 1) * bits;
+        long[] counters = new long[words];
+        /* Initially, all counters are invalid, as no text has been read: */
+        long[] overflows = new long[words];
+        Arrays.fill(overflows, overflowBits);
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            long[] masks = latin1Masks;
+            int offset = c * words;
+            if (c >= BadCharacterTable.LATIN_1) {
+                int index = Arrays.binarySearch(chars, c);
+                masks = index >= 0 ? charMasks : mismatchMask;
+                offset = index >= 0 ? index * words : 0;
+            }
+            long counterCarry = 0;
+            long overflowCarry = 0;
+            for (int w = 0; w < words; w++) {
+                long counter = counters[w];
+                long overflow = overflows[w];
+                long shifted = (((counter << bits) & wordMask) | counterCarry)
+                        + masks[offset + w];
+                overflows[w] = ((overflow << bits) & wordMask) | overflowCarry
+                        | (shifted & overflowBits);
+                counters[w] = shifted & ~overflowBits;
+                counterCarry = (counter >>> topShift) & fieldMask;
+                overflowCarry = (overflow >>> topShift) & fieldMask;
+            }
+            if (((overflows[lastWord] >>> lastShift) & fieldMask) != 0) {
+                continue;
+            }
+            int mismatches = (int) ((counters[lastWord] >>> lastShift)
+                    & fieldMask);
+            if (mismatches <= k && !sink.match(i - length + 1, mismatches)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /** Sets the counters of all pattern positions mismatching c to 1. */
+    private void setMask(long[] masks, int offset, char c) {
+        for (int position = 0; position < length; position++) {
+            if (pattern.charAt(position) != c) {
+                int shift = (position % fields) * bits;
+                masks[offset + position / fields] |= 1L << shift;
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bit-parallel string matching with wildcards and character classes, using
+ * the [http://en.wikipedia.org/wiki/Bitap_algorithm Shift-And algorithm]
+ * (Baeza-Yates & Gonnet 1992, Gusfield 1999:72). Each position of the pattern
+ * is a set of characters: a literal character, the wildcard '*' matching any
+ * character, or a class like [abc], [a-z] or [^0-9]; a backslash escapes the
+ * next character, e.g. \* or \[. The pattern is compiled into a bit mask for
+ * each character, with a bit set for every pattern position matching the
+ * character. While scanning the text, bit i of the state is set if the first
+ * i + 1 pattern positions match the text ending at the current character, so
+ * each text character is processed with a shift, an or and an and, per 64
+ * pattern positions. Unlike in [[Matching with wildcards (Java)|matching with
+ * wildcards]], a '*' in the text is an ordinary character.
+ */
+public final class ShiftAndWildcards implements Matcher {
+
+    private final String pattern;
+    private final int length;
+    private final int words;
+    /* The masks of the Latin-1 characters, words longs per character: */
+    private final long[] latin1Masks;
+    /* The masks of the other characters, constant in each interval: */
+    private final int[] intervalStarts;
+    private final long[] intervalMasks;
+
+    /** Compiles the given pattern. */
+    public ShiftAndWildcards(String pattern) {
+        this.pattern = pattern;
+        List<int[]> ranges = new ArrayList<int[]>();
+        List<Boolean> negated = new ArrayList<Boolean>();
+        parse(pattern, ranges, negated);
+        length = ranges.size();
+        if (length == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        words = (length + 63) >>> 6;
+        latin1Masks = new long[BadCharacterTable.LATIN_1 * words];
+        for (int c = 0; c < BadCharacterTable.LATIN_1; c++) {
+            setMask(latin1Masks, c * words, c, ranges, negated);
+        }
+        /*
+         * The characters outside of Latin-1 are split into intervals at the
+         * bounds of all ranges, so all characters in an interval have the same
+         * mask:
+         */
+        List<Integer> bounds = new ArrayList<Integer>();
+        bounds.add(BadCharacterTable.LATIN_1);
+        for (int[] positionRanges : ranges) {
+            for (int i = 0; i < positionRanges.length; i += 2) {
+                if (positionRanges[i + 1] >= BadCharacterTable.LATIN_1) {
+                    bounds.add(Math.max(positionRanges[i],
+                            BadCharacterTable.LATIN_1));
+                    bounds.add(positionRanges[i + 1] + 1);
+                }
+            }
+        }
+        int[] starts = new int[bounds.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = bounds.get(i);
+        }
+        Arrays.sort(starts);
+        int intervals = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] <= Character.MAX_VALUE
+                    && (intervals == 0 || starts[intervals - 1] != starts[i])) {
+                starts[intervals++] = starts[i];
+            }
+        }
+        intervalStarts = Arrays.copyOf(starts, intervals);
+        intervalMasks = new long[intervals * words];
+        for (int i = 0; i < intervals; i++) {
+            setMask(intervalMasks, i * words, intervalStarts[i], ranges,
+                    negated);
+        }
+    }
+
+    /** Returns the pattern this instance was compiled from. */
+    public String pattern() {
+        return pattern;
+    }
+
+    /** Returns the number of pattern positions. */
+    public int length() {
+        return length;
+    }
+
+    public boolean match(CharSequence text, int from, int to, MatchSink sink) {
+        if (words == 1) {
+            long found = 1L << (length - 1);
+            long state = 0;
+            for (int i = from; i < to; i++) {
+                state = ((state << 1) | 1) & mask(text.charAt(i));
+                if ((state & found) != 0 && !sink.match(i - length + 1, 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        /* For longer patterns, the state spans several words: */
+        long found = 1L << ((length - 1) & 63);
+        long[] state = new long[words];
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            long[] masks = latin1Masks;
+            int offset = c * words;
+            if (c >= BadCharacterTable.LATIN_1) {
+                masks = intervalMasks;
+                offset = interval(c) * words;
+            }
+            long carry = 1;
+            for (int w = 0; w < words; w++) {
+                long word = state[w];
+                state[w] = ((word << 1) | carry) & masks[offset + w];
+                carry = word >>> 63;
+            }
+            if ((state[words - 1] & found) != 0
+                    && !sink.match(i - length + 1, 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /** Returns the mask of a character, for patterns of one word. */
+    private long mask(char c) {
+        return c < BadCharacterTable.LATIN_1 ? latin1Masks[c]
+                : intervalMasks[interval(c)];
+    }
+
+    /** Returns the interval containing a character outside of Latin-1. */
+    private int interval(char c) {
+        int i = Arrays.binarySearch(intervalStarts, c);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /** Sets the bits of all pattern positions matching the character c. */
+    private void setMask(long[] masks, int offset, int c, List<int[]> ranges,
+            List<Boolean> negated) {
+        for (int position = 0; position < length; position++) {
+            int[] positionRanges = ranges.get(position);
+            boolean in = false;
+            for (int i = 0; i < positionRanges.length && !in; i += 2) {
+                in = positionRanges[i] <= c && c <= positionRanges[i + 1];
+            }
+            if (in != negated.get(position)) {
+                masks[offset + (position >>> 6)] |= 1L << (position & 63);
+            }
+        }
+    }
+
+    /**
+     * Parses the pattern into the character ranges of each position, given as
+     * pairs of inclusive bounds, and whether the ranges are negated.
+     */
+    private static void parse(String pattern, List<int[]> ranges,
+            List<Boolean> negated) {
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            if (c == '*') {
+                ranges.add(new int[0]);
+                negated.add(true);
+            } else if (c == '[') {
+                boolean negate = i < pattern.length()
+                        && pattern.charAt(i) == '^';
+                if (negate) {
+                    i++;
+                }
+                List<Integer> bounds = new ArrayList<Integer>();
+                boolean first = true;
+                while (true) {
+                    if (i >= pattern.length()) {
+                        throw new IllegalArgumentException(
+                                "Unterminated character class: " + pattern);
+                    }
+                    char low = pattern.charAt(i++);
+                    if (low == ']' && !first) {
+                        break;
+                    }
+                    if (low == '\\' && i < pattern.length()) {
+                        low = pattern.charAt(i++);
+                    }
+                    char high = low;
+                    if (i + 1 < pattern.length() && pattern.charAt(i) == '-'
+                            && pattern.charAt(i + 1) != ']') {
+                        high = pattern.charAt(i + 1);
+                        i += 2;
+                        if (high == '\\' && i < pattern.length()) {
+                            high = pattern.charAt(i++);
+                        }
+                        if (high < low) {
+                            throw new IllegalArgumentException(
+                                    "Invalid range " + low + "-" + high
+                                            + ": " + pattern);
+                        }
+                    }
+                    bounds.add((int) low);
+                    bounds.add((int) high);
+                    first = false;
+                }
+                int[] positionRanges = new int[bounds.size()];
+                for (int j = 0; j < positionRanges.length; j++) {
+                    positionRanges[j] = bounds.get(j);
+                }
+                ranges.add(positionRanges);
+                negated.add(negate);
+            } else {
+                if (c == '\\' && i < pattern.length()) {
+                    c = pattern.charAt(i++);
+                }
+                ranges.add(new int[] { c, c });
+                negated.add(false);
+            }
+        }
+    }
+}
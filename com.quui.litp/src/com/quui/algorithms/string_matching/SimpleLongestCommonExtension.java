@@ -26,8 +26,8 @@ public class SimpleLongestCommonExtension {
      * given indices. It compares the characters, counts equal characters and
      * returns that number as soon as the characters differ.
      */
-    public static int longestCommonExtension(String t1, int i1, String t2,
-            int i2) {
+    public static int longestCommonExtension(CharSequence t1, int i1,
+            CharSequence t2, int i2) {
         int res = 0;
         for (int i = i1; i < t1.length() && i2 < t2.length(); i++, i2++) {
             if (t1.charAt(i) == t2.charAt(i2))
@@ -38,6 +38,20 @@ public class SimpleLongestCommonExtension {
         return res;
     }
 
+    /**
+     * The same computation, bound to the two given strings, for usage where a
+     * {@link LongestCommonExtension} is expected.
+     */
+    public static LongestCommonExtension bind(final CharSequence t1,
+            final CharSequence t2) {
+        return new LongestCommonExtension() {
+            public int longestCommonExtension(int i1, int i2) {
+                return SimpleLongestCommonExtension.longestCommonExtension(t1,
+                        i1, t2, i2);
+            }
+        };
+    }
+
     /** A JUnit 4 unit test to demonstrate the functionality: */
 
     @Test
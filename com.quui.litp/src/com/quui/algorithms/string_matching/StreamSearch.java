@@ -0,0 +1,170 @@
+package com.quui.algorithms.string_matching;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Search for the occurrences of a pattern in files and streams with constant
+ * memory, without reading the complete content into a string. Files are
+ * mapped into memory in segments, streams are read into a sliding window of
+ * fixed size. Consecutive segments and windows overlap by the length of the
+ * pattern minus one, so every occurrence is found exactly once. As positions
+ * in files and streams can exceed the range of int, occurrences are reported
+ * with long positions to a {@link Sink}. Bytes are matched as Latin-1
+ * characters (see {@link ByteCharSequence}); for other encodings, decode the
+ * content with a {@link Reader}, e.g. using
+ * {@link java.nio.channels.Channels#newReader}. Buffers already in memory can
+ * be searched directly: a {@link CharBuffer} is a {@link CharSequence}, and a
+ * {@link MappedByteBuffer} can be viewed as one with {@link ByteCharSequence}.
+ */
+public final class StreamSearch {
+
+    /**
+     * Receives the occurrences found in a file or stream: the position of the
+     * occurrence and its number of errors. Returns false to stop the search.
+     */
+    public interface Sink {
+        boolean match(long position, int errors);
+    }
+
+    /** The default size of a mapped segment, in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 28;
+
+    /** The default size of a sliding window, in bytes or characters. */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 16;
+
+    private StreamSearch() {
+    }
+
+    /**
+     * Searches the file by mapping it into memory in segments of the default
+     * size. Returns false if the sink stopped the search.
+     */
+    public static boolean search(Path file, Matcher matcher, Sink sink)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return search(channel, matcher, sink, DEFAULT_SEGMENT_SIZE);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Searches the file channel by mapping it into memory in segments of the
+     * given size. Returns false if the sink stopped the search.
+     */
+    public static boolean search(FileChannel channel, Matcher matcher,
+            Sink sink, int segmentSize) throws IOException {
+        int overlap = checkSize(matcher, segmentSize);
+        Offset offset = new Offset(sink);
+        long size = channel.size();
+        for (long start = 0; start < size; start += segmentSize - overlap) {
+            int length = (int) Math.min(segmentSize, size - start);
+            MappedByteBuffer segment = channel.map(
+                    FileChannel.MapMode.READ_ONLY, start, length);
+            offset.base = start;
+            ByteCharSequence text = new ByteCharSequence(segment);
+            if (!matcher.match(text, 0, length, offset)) {
+                return false;
+            }
+            if (start + length == size) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches the bytes read from the (blocking) channel in a sliding window
+     * of the given size. Returns false if the sink stopped the search.
+     */
+    public static boolean search(ReadableByteChannel channel, Matcher matcher,
+            Sink sink, int windowSize) throws IOException {
+        int overlap = checkSize(matcher, windowSize);
+        Offset offset = new Offset(sink);
+        ByteBuffer window = ByteBuffer.allocate(windowSize);
+        ByteCharSequence text = new ByteCharSequence(window, 0, windowSize);
+        boolean end = false;
+        while (!end) {
+            while (window.hasRemaining() && !end) {
+                end = channel.read(window) < 0;
+            }
+            int filled = window.position();
+            if (!matcher.match(text, 0, filled, offset)) {
+                return false;
+            }
+            /* Keep the end of the window that might start an occurrence: */
+            int keep = Math.min(filled, overlap);
+            window.flip();
+            window.position(filled - keep);
+            window.compact();
+            offset.base += filled - keep;
+        }
+        return true;
+    }
+
+    /**
+     * Searches the characters read from the reader in a sliding window of the
+     * given size. Returns false if the sink stopped the search.
+     */
+    public static boolean search(Reader reader, Matcher matcher, Sink sink,
+            int windowSize) throws IOException {
+        int overlap = checkSize(matcher, windowSize);
+        Offset offset = new Offset(sink);
+        char[] window = new char[windowSize];
+        CharBuffer text = CharBuffer.wrap(window);
+        int filled = 0;
+        boolean end = false;
+        while (!end) {
+            while (filled < windowSize && !end) {
+                int read = reader.read(window, filled, windowSize - filled);
+                if (read < 0) {
+                    end = true;
+                } else {
+                    filled += read;
+                }
+            }
+            if (!matcher.match(text, 0, filled, offset)) {
+                return false;
+            }
+            /* Keep the end of the window that might start an occurrence: */
+            int keep = Math.min(filled, overlap);
+            System.arraycopy(window, filled - keep, window, 0, keep);
+            offset.base += filled - keep;
+            filled = keep;
+        }
+        return true;
+    }
+
+    /** Returns the overlap required for the matcher, checking the size. */
+    private static int checkSize(Matcher matcher, int size) {
+        if (size < matcher.length()) {
+            throw new IllegalArgumentException("Size " + size
+                    + " is smaller than the pattern length "
+                    + matcher.length());
+        }
+        return Math.max(0, matcher.length() - 1);
+    }
+
+    /** Reports positions relative to a segment or window as stream positions. */
+    private static final class Offset implements MatchSink {
+        private final Sink sink;
+        private long base;
+
+        Offset(Sink sink) {
+            this.sink = sink;
+        }
+
+        public boolean match(int position, int errors) {
+            return sink.match(base + position, errors);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.Arrays;
+
+/**
+ * Constant-time computation of the '''longest common extension''' of two
+ * sequences after ''O(n log n)'' preprocessing, as an alternative to the
+ * [[Longest common extension (Java)|simple computation]]. Instead of lowest
+ * common ancestors in a [http://en.wikipedia.org/wiki/Suffix_tree suffix
+ * tree] (Gusfield 1999:196), it uses the equivalent
+ * [http://en.wikipedia.org/wiki/Suffix_array suffix array] representation:
+ * the two sequences are concatenated, separated by a unique symbol, and the
+ * suffix array, its inverse and the array of longest common prefixes of
+ * neighbouring suffixes are computed. The lce of two suffixes is then the
+ * minimum of the longest common prefixes between their ranks, which is
+ * retrieved in constant time from a sparse table of range minima.
+ */
+public final class SuffixArrayLongestCommonExtension implements
+        LongestCommonExtension {
+
+    private final int length1;
+    private final int length2;
+    /* The rank of each suffix of the concatenation, the inverse suffix array: */
+    private final int[] rank;
+    /* minima[j][r] is the minimum longest common prefix of 2^j ranks from r: */
+    private final int[][] minima;
+
+    /** Preprocesses the two given sequences. */
+    public SuffixArrayLongestCommonExtension(CharSequence t1, CharSequence t2) {
+        length1 = t1.length();
+        length2 = t2.length();
+        /*
+         * We concatenate the sequences, mapping each character c to c + 2 and
+         * separating them with the unique symbol 1:
+         */
+        int n = length1 + 1 + length2;
+        int[] s = new int[n];
+        for (int i = 0; i < length1; i++) {
+            s[i] = t1.charAt(i) + 2;
+        }
+        s[length1] = 1;
+        for (int i = 0; i < length2; i++) {
+            s[length1 + 1 + i] = t2.charAt(i) + 2;
+        }
+        int[] suffixArray = suffixArray(s);
+        rank = new int[n];
+        for (int r = 0; r < n; r++) {
+            rank[suffixArray[r]] = r;
+        }
+        int[] lcp = longestCommonPrefixes(s, suffixArray, rank);
+        /*
+         * The sparse table stores the minima of all ranges of a length that is
+         * a power of two; any range is covered by two such ranges:
+         */
+        int levels = 32 - Integer.numberOfLeadingZeros(n);
+        minima = new int[levels][];
+        minima[0] = lcp;
+        for (int j = 1; j < levels; j++) {
+            int half = 1 << (j - 1);
+            int[] previous = minima[j - 1];
+            int[] current = new int[n - (1 << j) + 1];
+            for (int r = 0; r < current.length; r++) {
+                current[r] = Math.min(previous[r], previous[r + half]);
+            }
+            minima[j] = current;
+        }
+    }
+
+    public int longestCommonExtension(int i1, int i2) {
+        if (i1 >= length1 || i2 >= length2) {
+            return 0;
+        }
+        int r1 = rank[i1];
+        int r2 = rank[length1 + 1 + i2];
+        int low = Math.min(r1, r2) + 1;
+        int high = Math.max(r1, r2);
+        int level = 31 - Integer.numberOfLeadingZeros(high - low + 1);
+        return Math.min(minima[level][low],
+                minima[level][high - (1 << level) + 1]);
+    }
+
+    /**
+     * Computes the suffix array by prefix doubling: in each round, the
+     * suffixes are sorted by their first 2k symbols, using the ranks of their
+     * first k symbols as keys of a radix sort (Manber & Myers 1993).
+     */
+    static int[] suffixArray(int[] s) {
+        int n = s.length;
+        int[] suffixArray = new int[n];
+        int[] rank = new int[n];
+        int[] next = new int[n];
+        int ranks = 0;
+        for (int i = 0; i < n; i++) {
+            ranks = Math.max(ranks, s[i] + 1);
+        }
+        int[] counts = new int[Math.max(ranks, n)];
+        for (int i = 0; i < n; i++) {
+            counts[s[i]]++;
+            rank[i] = s[i];
+        }
+        for (int c = 1; c < ranks; c++) {
+            counts[c] += counts[c - 1];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            suffixArray[--counts[rank[i]]] = i;
+        }
+        for (int k = 1; k < n; k <<= 1) {
+            /* Order by the second key: the rank k symbols to the right: */
+            int p = 0;
+            for (int i = n - k; i < n; i++) {
+                next[p++] = i;
+            }
+            for (int r = 0; r < n; r++) {
+                if (suffixArray[r] >= k) {
+                    next[p++] = suffixArray[r] - k;
+                }
+            }
+            /* Then stably by the first key: */
+            Arrays.fill(counts, 0, ranks, 0);
+            for (int i = 0; i < n; i++) {
+                counts[rank[i]]++;
+            }
+            for (int c = 1; c < ranks; c++) {
+                counts[c] += counts[c - 1];
+            }
+            for (int r = n - 1; r >= 0; r--) {
+                suffixArray[--counts[rank[next[r]]]] = next[r];
+            }
+            /* Finally, we compute the ranks by the first 2k symbols: */
+            int[] newRank = next;
+            newRank[suffixArray[0]] = 0;
+            int r = 0;
+            for (int j = 1; j < n; j++) {
+                int a = suffixArray[j - 1];
+                int b = suffixArray[j];
+                int secondA = a + k < n ? rank[a + k] : -1;
+                int secondB = b + k < n ? rank[b + k] : -1;
+                if (rank[a] != rank[b] || secondA != secondB) {
+                    r++;
+                }
+                newRank[b] = r;
+            }
+            next = rank;
+            rank = newRank;
+            ranks = r + 1;
+            if (ranks == n) {
+                break;
+            }
+        }
+        return suffixArray;
+    }
+
+    /**
+     * Computes the longest common prefix of each suffix in the suffix array
+     * with its predecessor in linear time (Kasai et al. 2001).
+     */
+    static int[] longestCommonPrefixes(int[] s, int[] suffixArray, int[] rank) {
+        int n = s.length;
+        int[] lcp = new int[n];
+        int h = 0;
+        for (int i = 0; i < n; i++) {
+            if (rank[i] > 0) {
+                int j = suffixArray[rank[i] - 1];
+                while (i + h < n && j + h < n && s[i + h] == s[j + h]) {
+                    h++;
+                }
+                lcp[rank[i]] = h;
+                if (h > 0) {
+                    h--;
+                }
+            } else {
+                h = 0;
+            }
+        }
+        return lcp;
+    }
+}
@@ -0,0 +1,79 @@
+package com.quui.algorithms.string_matching;
+
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link AhoCorasick}
+ */
+public class TestAhoCorasick {
+
+    @Test
+    public void testMatch() {
+        AhoCorasick automaton = new AhoCorasick("he", "she", "his", "hers");
+        assertEquals(Arrays.asList("1@1", "0@2", "3@2"), matches(automaton,
+                "ushers"));
+        assertEquals(3, automaton.count("ushers"));
+    }
+
+    @Test
+    public void testDuplicateAndNonLatin1Patterns() {
+        AhoCorasick automaton = new AhoCorasick("λμ", "a",
+                "λμ");
+        assertEquals(Arrays.asList("0@1", "2@1", "1@3"), matches(automaton,
+                "xλμa"));
+    }
+
+    @Test
+    public void testStop() {
+        AhoCorasick automaton = new AhoCorasick("a");
+        assertFalse(automaton.match("aaa", new AhoCorasick.MatchListener() {
+            public boolean match(int patternId, int position) {
+                return false;
+            }
+        }));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0);
+        for (int i = 0; i < 300; i++) {
+            String[] patterns = new String[1 + random.nextInt(6)];
+            for (int j = 0; j < patterns.length; j++) {
+                patterns[j] = randomString(random, 1 + random.nextInt(4));
+            }
+            String text = randomString(random, random.nextInt(50));
+            List<String> expected = new ArrayList<String>();
+            for (int end = 1; end <= text.length(); end++) {
+                for (int length = end; length > 0; length--) {
+                    for (int id = 0; id < patterns.length; id++) {
+                        if (patterns[id].length() == length
+                                && text.startsWith(patterns[id], end - length)) {
+                            expected.add(id + "@" + (end - length));
+                        }
+                    }
+                }
+            }
+            assertEquals(expected, matches(new AhoCorasick(patterns), text));
+        }
+    }
+
+    private static List<String> matches(AhoCorasick automaton, String text) {
+        final List<String> result = new ArrayList<String>();
+        automaton.match(text, new AhoCorasick.MatchListener() {
+            public boolean match(int patternId, int position) {
+                result.add(patternId + "@" + position);
+                return true;
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.quui.algorithms.string_matching;
+
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ApproximateSearch}
+ */
+public class TestApproximateSearch {
+
+    @Test
+    public void testMatch() {
+        /* 'bend' ends in 'abentbananaend' with 1 edit at 3, 4 and 13: */
+        assertEquals(Arrays.asList("3:1", "4:1", "13:1"), matches(
+                new ApproximateSearch("bend", 1), "abentbananaend"));
+    }
+
+    /** The bit-vector search computes the same distances as the DP: */
+    @Test
+    public void testRandom() {
+        Random random = new Random(0);
+        for (int i = 0; i < 200; i++) {
+            String t = randomString(random, random.nextInt(200));
+            String p = randomString(random, 1 + random.nextInt(i % 2 == 0 ? 10
+                    : 200));
+            if (i % 3 == 0) {
+                t = t.replace('a', 'λ');
+                p = p.replace('b', 'λ').replace('a', 'μ');
+            }
+            int k = random.nextInt(1 + p.length() / 2);
+            assertEquals(sellers(p, t, k), matches(new ApproximateSearch(p, k),
+                    t));
+        }
+    }
+
+    /* The DP with the first row set to zero, one column at a time: */
+    private static List<String> sellers(String p, String t, int k) {
+        List<String> result = new ArrayList<String>();
+        int m = p.length();
+        int[] column = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            column[i] = i;
+        }
+        for (int j = 0; j < t.length(); j++) {
+            int diagonal = column[0];
+            column[0] = 0;
+            for (int i = 1; i <= m; i++) {
+                int cost = p.charAt(i - 1) == t.charAt(j) ? 0 : 1;
+                int value = Math.min(diagonal + cost, Math.min(column[i] + 1,
+                        column[i - 1] + 1));
+                diagonal = column[i];
+                column[i] = value;
+            }
+            if (column[m] <= k) {
+                result.add(j + ":" + column[m]);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> matches(ApproximateSearch search, String t) {
+        final List<String> result = new ArrayList<String>();
+        search.match(t, new MatchSink() {
+            public boolean match(int position, int errors) {
+                result.add(position + ":" + errors);
+                return true;
+            }
+        });
+        return result;
+    }
+}
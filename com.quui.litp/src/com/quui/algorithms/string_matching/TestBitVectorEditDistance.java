@@ -0,0 +1,70 @@
+package com.quui.algorithms.string_matching;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BitVectorEditDistance}
+ */
+public class TestBitVectorEditDistance {
+
+    @Test
+    public void testDistance() {
+        assertEquals(5, BitVectorEditDistance.distance("vintner", "writers"));
+        assertEquals(3, BitVectorEditDistance.distance("kitten", "sitting"));
+        assertEquals(4, BitVectorEditDistance.distance("", "abcd"));
+        assertEquals(0, BitVectorEditDistance.distance("\u03b1\u03b2",
+                "\u03b1\u03b2"));
+        assertEquals(1, BitVectorEditDistance.distance("\u0394ab", "ab"));
+    }
+
+    /** The bit-vector algorithm computes the same distance as the DP: */
+    @Test
+    public void testRandom() {
+        EditDistance editDistance = new EditDistance();
+        Random random = new Random(0);
+        for (int i = 0; i < 300; i++) {
+            int length = i % 3 == 0 ? 300 : 80;
+            String s1 = randomString(random, random.nextInt(length));
+            String s2 = randomString(random, random.nextInt(length));
+            int expected = editDistance.compute(s1, s2);
+            assertEquals(expected, BitVectorEditDistance.distance(s1, s2));
+            assertEquals(expected, editDistance.distance(s1, s2));
+        }
+    }
+
+    /** The distances of one query to many strings, in their order: */
+    @Test
+    public void testDistances() {
+        EditDistance editDistance = new EditDistance();
+        assertArrayEquals(new int[] { 0, 1, 7, 5 }, editDistance.compute(
+                "vintner", Arrays.asList("vintner", "vintners", "",
+                        "writers")));
+        Random random = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            String query = randomString(random, random.nextInt(150));
+            List<String> targets = new ArrayList<String>();
+            for (int j = 0; j < 20; j++) {
+                targets.add(randomString(random, random.nextInt(150)));
+            }
+            int[] distances = new BitVectorEditDistance(query)
+                    .distances(targets);
+            for (int j = 0; j < targets.size(); j++) {
+                assertEquals(editDistance.compute(query, targets.get(j)),
+                        distances[j]);
+            }
+        }
+    }
+
+    /* Random strings over a small alphabet, including non-Latin-1 characters: */
+    private static String randomString(Random random, int length) {
+        return RandomStrings.randomString(random, length, "ab\u03b1\u03b2");
+    }
+}
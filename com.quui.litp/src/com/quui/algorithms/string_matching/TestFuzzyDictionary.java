@@ -0,0 +1,100 @@
+package com.quui.algorithms.string_matching;
+
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FuzzyDictionary}
+ */
+public class TestFuzzyDictionary {
+
+    @Test
+    public void testLookup() {
+        FuzzyDictionary dictionary = new FuzzyDictionary(Arrays.asList("book",
+                "books", "cake", "boo", "cape", "cart", "boon", "book"));
+        assertEquals(7, dictionary.size());
+        assertTrue(dictionary.contains("cake"));
+        assertFalse(dictionary.contains("cak"));
+        assertFalse(dictionary.add("boo"));
+        assertEquals(Arrays.asList("boo", "book", "books", "boon"),
+                sorted(dictionary.lookup("bo", 3)));
+        assertEquals(Arrays.asList("boo", "book", "boon"), sorted(dictionary
+                .lookup("bool", 1)));
+        assertTrue(new FuzzyDictionary().lookup("a", 2).isEmpty());
+    }
+
+    /** Lookups find the same words as comparing the query to every word: */
+    @Test
+    public void testRandom() {
+        Random random = new Random(0);
+        List<String> words = new ArrayList<String>();
+        for (int i = 0; i < 2000; i++) {
+            words.add(randomString(random, 1 + random.nextInt(8)));
+        }
+        FuzzyDictionary dictionary = new FuzzyDictionary();
+        dictionary.addAll(words.subList(0, 1000));
+        for (String word : words.subList(1000, words.size())) {
+            dictionary.add(word);
+        }
+        EditDistance editDistance = new EditDistance();
+        for (int i = 0; i < 100; i++) {
+            String query = randomString(random, random.nextInt(8));
+            int k = random.nextInt(3);
+            List<String> expected = new ArrayList<String>();
+            for (String word : words) {
+                if (!expected.contains(word)
+                        && editDistance.compute(query, word) <= k) {
+                    expected.add(word);
+                }
+            }
+            assertEquals(sorted(expected), sorted(dictionary.lookup(query, k)));
+        }
+    }
+
+    /** Lookups from several threads see the same dictionary: */
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        Random random = new Random(1);
+        final FuzzyDictionary dictionary = new FuzzyDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dictionary.add(randomString(random, 6));
+        }
+        final List<String> expected = sorted(dictionary.lookup("abcabc", 2));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results =
+                    new ArrayList<Future<List<String>>>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(new Callable<List<String>>() {
+                    public List<String> call() {
+                        return sorted(dictionary.lookup("abcabc", 2));
+                    }
+                }));
+            }
+            for (Future<List<String>> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> sorted(List<String> words) {
+        Collections.sort(words);
+        return words;
+    }
+}
@@ -0,0 +1,76 @@
+package com.quui.algorithms.string_matching;
+
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link Hirschberg}
+ */
+public class TestHirschberg {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testTranscript() {
+        assertEquals("MMMM", Hirschberg.transcript("abcd", "abcd"));
+        assertEquals("III", Hirschberg.transcript("", "abc"));
+        assertEquals("DD", Hirschberg.transcript("ab", ""));
+        check("vintner", "writers", 5);
+        check("kitten", "sitting", 3);
+    }
+
+    /**
+     * The transcripts of long strings, split recursively, are optimal and
+     * transform s1 into s2:
+     */
+    @Test
+    public void testRandom() {
+        EditDistance editDistance = new EditDistance();
+        Random random = new Random(0);
+        for (int i = 0; i < 40; i++) {
+            int length = i % 4 == 0 ? 1500 : 150;
+            String s1 = randomString(random, random.nextInt(length));
+            String s2 = randomString(random, random.nextInt(length));
+            check(s1, s2, editDistance.distance(s1, s2));
+        }
+    }
+
+    private static void check(String s1, String s2, int distance) {
+        String transcript = Hirschberg.transcript(s1, s2, POOL);
+        StringBuilder edited = new StringBuilder();
+        int cost = 0;
+        int i = 0;
+        int j = 0;
+        for (char operation : transcript.toCharArray()) {
+            switch (operation) {
+            case 'M':
+                assertEquals(s1.charAt(i++), s2.charAt(j));
+                edited.append(s2.charAt(j++));
+                break;
+            case 'R':
+                i++;
+                edited.append(s2.charAt(j++));
+                cost++;
+                break;
+            case 'I':
+                edited.append(s2.charAt(j++));
+                cost++;
+                break;
+            case 'D':
+                i++;
+                cost++;
+                break;
+            default:
+                throw new IllegalStateException("Operation " + operation);
+            }
+        }
+        assertEquals(s1.length(), i);
+        assertEquals(s2, edited.toString());
+        assertEquals(distance, cost);
+    }
+}
@@ -1,7 +1,12 @@
 package com.quui.algorithms.string_matching;
 
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Random;
 
 import junit.framework.TestCase;
 
@@ -44,6 +49,97 @@ public class TestKMismatch extends TestCase {
         assertEquals(Arrays.asList("bent", "bana", "aend"), results);
     }
 
-    
+    /**
+     * Test for {@link SuffixArrayLongestCommonExtension}
+     */
+    public void testSuffixArrayLongestCommonExtension() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            String a = randomString(random, random.nextInt(30));
+            String b = randomString(random, random.nextInt(30));
+            LongestCommonExtension lce = new SuffixArrayLongestCommonExtension(
+                    a, b);
+            for (int i1 = 0; i1 <= a.length(); i1++) {
+                for (int i2 = 0; i2 <= b.length(); i2++) {
+                    assertEquals(SimpleLongestCommonExtension
+                            .longestCommonExtension(a, i1, b, i2), lce
+                            .longestCommonExtension(i1, i2));
+                }
+            }
+        }
+    }
 
+    /**
+     * Test for {@link WordLongestCommonExtension}, with Latin-1 and other
+     * characters and extensions longer than a word
+     */
+    public void testWordLongestCommonExtension() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            String a = randomString(random, random.nextInt(40));
+            String b = randomString(random, random.nextInt(40));
+            if (i % 2 == 1) {
+                b = b.replace('c', '\u03bb');
+            }
+            a = a + b;
+            LongestCommonExtension lce = new WordLongestCommonExtension(a, b);
+            for (int i1 = 0; i1 <= a.length(); i1++) {
+                for (int i2 = 0; i2 <= b.length(); i2++) {
+                    assertEquals(SimpleLongestCommonExtension
+                            .longestCommonExtension(a, i1, b, i2), lce
+                            .longestCommonExtension(i1, i2));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test for {@link KMismatch} with a {@link SuffixArrayLongestCommonExtension}
+     */
+    public void testGetMismatchesWithSuffixArray() {
+        String t = "abentbananaend";
+        String p = "bend";
+        final List<Integer> positions = new ArrayList<Integer>();
+        KMismatch.match(t, 0, t.length(), p, 2,
+                new SuffixArrayLongestCommonExtension(p, t), new MatchSink() {
+                    public boolean match(int position, int errors) {
+                        positions.add(position);
+                        return true;
+                    }
+                });
+        assertEquals(Arrays.asList(1, 5, 10), positions);
+    }
+
+    /**
+     * Test for {@link ShiftAddKMismatch}, which finds the same matches with
+     * the same numbers of mismatches, also for patterns longer than a word
+     */
+    public void testShiftAdd() {
+        Random random = new Random(0);
+        for (int i = 0; i < 300; i++) {
+            String t = randomString(random, random.nextInt(300));
+            String p = randomString(random, 1 + random.nextInt(i % 2 == 0 ? 10
+                    : 120));
+            if (i % 3 == 0) {
+                p = p.replace('c', '\u03bb');
+                t = t.replace('b', '\u03bb').replace('a', '\u03bc');
+            }
+            int k = random.nextInt(1 + p.length() / 2);
+            assertEquals(mismatches(KMismatch.matcher(p, k), t), mismatches(
+                    new ShiftAddKMismatch(p, k), t));
+        }
+        assertEquals(Arrays.asList("1:1", "5:2", "10:1"), mismatches(
+                new ShiftAddKMismatch("bend", 2), "abentbananaend"));
+    }
+
+    private static List<String> mismatches(Matcher matcher, String t) {
+        final List<String> result = new ArrayList<String>();
+        matcher.match(t, 0, t.length(), new MatchSink() {
+            public boolean match(int position, int errors) {
+                result.add(position + ":" + errors);
+                return true;
+            }
+        });
+        return result;
+    }
 }
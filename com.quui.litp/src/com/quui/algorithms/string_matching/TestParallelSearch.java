@@ -0,0 +1,52 @@
+package com.quui.algorithms.string_matching;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ParallelSearch}
+ */
+public class TestParallelSearch {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Test
+    public void testBoyerMoore() {
+        assertArrayEquals(new int[] { 1, 3 }, ParallelSearch.search(
+                BoyerMoorePattern.compile("ana"), "bananas", pool, 2));
+    }
+
+    @Test
+    public void testKMismatch() {
+        assertArrayEquals(new int[] { 1, 5, 10 }, ParallelSearch.search(
+                KMismatch.matcher("bend", 2), "abentbananaend", pool, 3));
+    }
+
+    @Test
+    public void testWildcards() {
+        assertArrayEquals(new int[] { 1, 15 }, ParallelSearch.search(Wildcards
+                .matcher("ben*"), "abentbananaend bend", pool, 1));
+    }
+
+    /** Chunked search finds the same positions as a sequential search: */
+    @Test
+    public void testChunkSizes() {
+        Random random = new Random(0);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            builder.append((char) ('a' + random.nextInt(2)));
+        }
+        String text = builder.toString();
+        Matcher matcher = KMismatch.matcher("abbab", 1);
+        int[] expected = ParallelSearch.search(matcher, text, pool,
+                text.length());
+        for (int chunkSize = 1; chunkSize < 40; chunkSize++) {
+            assertArrayEquals(expected, ParallelSearch.search(matcher, text,
+                    pool, chunkSize));
+        }
+    }
+}
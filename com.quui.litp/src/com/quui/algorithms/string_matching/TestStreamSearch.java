@@ -0,0 +1,77 @@
+package com.quui.algorithms.string_matching;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link StreamSearch}
+ */
+public class TestStreamSearch {
+
+    private static final String TEXT = "abentbananaend bend";
+    private static final List<Long> BEND = Arrays.asList(1L, 5L, 10L, 15L);
+
+    @Test
+    public void testReader() throws IOException {
+        for (int window = 4; window < 25; window++) {
+            Positions positions = new Positions();
+            StreamSearch.search(new StringReader(TEXT), KMismatch.matcher(
+                    "bend", 2), positions, window);
+            assertEquals(BEND, positions.list);
+        }
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        for (int window = 4; window < 25; window++) {
+            Positions positions = new Positions();
+            StreamSearch.search(Channels.newChannel(new ByteArrayInputStream(
+                    TEXT.getBytes("ISO-8859-1"))), KMismatch.matcher("bend", 2),
+                    positions, window);
+            assertEquals(BEND, positions.list);
+        }
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        File file = File.createTempFile("stream-search", ".txt");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(TEXT.getBytes("ISO-8859-1"));
+        out.close();
+        Positions positions = new Positions();
+        StreamSearch.search(file.toPath(), BoyerMoorePattern.compile("an"),
+                positions);
+        assertEquals(Arrays.asList(6L, 8L), positions.list);
+        for (int segment = 4; segment < 25; segment++) {
+            positions = new Positions();
+            FileChannel channel = FileChannel.open(file.toPath());
+            StreamSearch.search(channel, KMismatch.matcher("bend", 2),
+                    positions, segment);
+            channel.close();
+            assertEquals(BEND, positions.list);
+        }
+        file.delete();
+    }
+
+    private static final class Positions implements StreamSearch.Sink {
+        private final List<Long> list = new ArrayList<Long>();
+
+        public boolean match(long position, int errors) {
+            list.add(position);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.quui.algorithms.string_matching;
+
+import static com.quui.algorithms.string_matching.RandomStrings.randomString;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link WavefrontEditDistance}
+ */
+public class TestWavefrontEditDistance {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testDistance() {
+        assertEquals(5, WavefrontEditDistance.distance("vintner", "writers"));
+        assertEquals(3, WavefrontEditDistance.distance("", "abc"));
+        assertEquals(5, WavefrontEditDistance.distance("vintner", "writers",
+                POOL, 2));
+        assertEquals(3, WavefrontEditDistance.distance("kitten", "sitting",
+                POOL, 1));
+    }
+
+    /** Any tiling computes the same distance as the full DP table: */
+    @Test
+    public void testRandom() {
+        EditDistance editDistance = new EditDistance();
+        Random random = new Random(0);
+        int[] tileSizes = { 1, 3, 8, 64 };
+        for (int i = 0; i < 200; i++) {
+            String s1 = randomString(random, random.nextInt(300));
+            String s2 = randomString(random, random.nextInt(300));
+            int tileSize = tileSizes[i % tileSizes.length];
+            assertEquals(editDistance.compute(s1, s2), WavefrontEditDistance
+                    .distance(s1, s2, POOL, tileSize));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -41,4 +42,56 @@ public class TestWildcards {
         Collection<String> results = Wildcards.getMatches("abentbananaend bend", "ben*");
         assertEquals(Arrays.asList("bent", "bend"), results);
     }
+
+    @Test
+    public void testGetMatchesWithSuffixArray() {
+        String t = "abentbananaend bend";
+        String p = "ben*";
+        MatchSink.Counter counter = new MatchSink.Counter();
+        Wildcards.match(t, 0, t.length(), p,
+                new SuffixArrayLongestCommonExtension(p, t), counter);
+        assertEquals(2, counter.count());
+    }
+
+    @Test
+    public void testShiftAnd() {
+        String t = "abentbananaend bend";
+        assertEquals(2, count(new ShiftAndWildcards("ben*"), t));
+        assertEquals(3, count(new ShiftAndWildcards("[ab][^a]n[a-t]"), t));
+        assertEquals(1, count(new ShiftAndWildcards("\\*b"), "a*b ab"));
+        assertEquals(2, count(new ShiftAndWildcards("[\u03b1-\u03c9]x"),
+                "\u03bbx \u03c9x \u0100x"));
+    }
+
+    /** Shift-And finds the same matches as the lce based matching: */
+    @Test
+    public void testShiftAndRandom() {
+        Random random = new Random(0);
+        for (int i = 0; i < 300; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(200); j > 0; j--) {
+                text.append(randomChar(random));
+            }
+            StringBuilder pattern = new StringBuilder();
+            for (int j = 1 + random.nextInt(i % 2 == 0 ? 8 : 100); j > 0; j--) {
+                pattern.append(random.nextInt(6) == 0 ? '*'
+                        : randomChar(random));
+            }
+            String t = text.toString();
+            String p = pattern.toString();
+            assertEquals(Wildcards.count(t, p), count(new ShiftAndWildcards(p),
+                    t));
+        }
+    }
+
+    private static char randomChar(Random random) {
+        return random.nextInt(5) == 0 ? '\u03bb' : (char) ('a' + random
+                .nextInt(2));
+    }
+
+    private static int count(Matcher matcher, String text) {
+        MatchSink.Counter counter = new MatchSink.Counter();
+        matcher.match(text, 0, text.length(), counter);
+        return counter.count();
+    }
 }
@@ -0,0 +1,166 @@
+package com.quui.algorithms.string_matching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.quui.algorithms.ForkJoinPools;
+
+/**
+ * Parallel computation of the [[Edit distance (Java)|edit distance]] of two
+ * long strings. Each cell of the DP table depends only on its neighbours to
+ * the left, above and upper left, so the table is split into square tiles,
+ * and all tiles on an anti-diagonal of tiles, which only depend on tiles of
+ * the previous anti-diagonals, are computed in parallel as tasks of a
+ * [http://en.wikipedia.org/wiki/Fork-join_model fork/join] pool: a wavefront
+ * moving from the upper left to the lower right of the table. Instead of the
+ * table, only the boundaries between the tiles are kept: the last row of the
+ * latest tile of each column, the last column of the latest tile of each row
+ * and the upper left corner of the next tile of each row. This takes O(nm)
+ * time and O(n+m) space.
+ */
+public final class WavefrontEditDistance {
+
+    /** The default height and width of a tile. */
+    public static final int DEFAULT_TILE_SIZE = 1 << 11;
+
+    private WavefrontEditDistance() {
+    }
+
+    /**
+     * Returns the edit distance of the two given strings, computed in tiles
+     * of the default size in the {@link ForkJoinPools#shared() shared pool}.
+     */
+    public static int distance(String s1, String s2) {
+        return distance(s1, s2, ForkJoinPools.shared(), DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Returns the edit distance of the two given strings, computed in tiles
+     * of the given size in the given pool.
+     */
+    public static int distance(String s1, String s2, ForkJoinPool pool,
+            int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("Tile size must be positive: "
+                    + tileSize);
+        }
+        if (s1.length() == 0 || s2.length() == 0) {
+            return Math.max(s1.length(), s2.length());
+        }
+        Table table = new Table(s1, s2, tileSize);
+        pool.invoke(new Wavefront(table));
+        return table.bottom[s2.length()];
+    }
+
+    /* The strings and the boundaries between the tiles: */
+    private static final class Table {
+        final String s1;
+        final String s2;
+        final int tileSize;
+        final int tileRows;
+        final int tileColumns;
+        /* D(i,j) of the last row i computed so far in column j: */
+        final int[] bottom;
+        /* D(i,j) of the last column j computed so far in row i: */
+        final int[] right;
+        /* D(i,j) of the upper left corner of the next tile of each row: */
+        final int[] corner;
+
+        Table(String s1, String s2, int tileSize) {
+            this.s1 = s1;
+            this.s2 = s2;
+            this.tileSize = tileSize;
+            tileRows = (s1.length() + tileSize - 1) / tileSize;
+            tileColumns = (s2.length() + tileSize - 1) / tileSize;
+            /* Initially, the boundaries are row 0 and column 0 of the table: */
+            bottom = new int[s2.length() + 1];
+            for (int j = 0; j < bottom.length; j++) {
+                bottom[j] = j;
+            }
+            right = new int[s1.length() + 1];
+            for (int i = 0; i < right.length; i++) {
+                right[i] = i;
+            }
+            corner = new int[tileRows];
+            for (int t = 0; t < tileRows; t++) {
+                corner[t] = t * tileSize;
+            }
+        }
+    }
+
+    /* Computes the anti-diagonals of tiles one after another: */
+    private static final class Wavefront extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Table table;
+
+        Wavefront(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        protected void compute() {
+            int diagonals = table.tileRows + table.tileColumns - 1;
+            for (int d = 0; d < diagonals; d++) {
+                int first = Math.max(0, d - table.tileColumns + 1);
+                int last = Math.min(d, table.tileRows - 1);
+                if (first == last) {
+                    new Tile(table, first, d - first).compute();
+                    continue;
+                }
+                List<Tile> tiles = new ArrayList<Tile>();
+                for (int row = first; row <= last; row++) {
+                    tiles.add(new Tile(table, row, d - row));
+                }
+                invokeAll(tiles);
+            }
+        }
+    }
+
+    /* Computes a tile from its boundaries, then replaces them with its own: */
+    private static final class Tile extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Table table;
+        private final int row;
+        private final int column;
+
+        Tile(Table table, int row, int column) {
+            this.table = table;
+            this.row = row;
+            this.column = column;
+        }
+
+        @Override
+        protected void compute() {
+            int[] bottom = table.bottom;
+            int[] right = table.right;
+            /* The tile covers rows i0 + 1 to i1 and columns j0 + 1 to j1: */
+            int i0 = row * table.tileSize;
+            int i1 = Math.min(i0 + table.tileSize, table.s1.length());
+            int j0 = column * table.tileSize;
+            int j1 = Math.min(j0 + table.tileSize, table.s2.length());
+            int width = j1 - j0;
+            int[] previous = new int[width + 1];
+            int[] current = new int[width + 1];
+            previous[0] = table.corner[row];
+            System.arraycopy(bottom, j0 + 1, previous, 1, width);
+            /* Its upper right cell is the next tile's upper left corner: */
+            table.corner[row] = bottom[j1];
+            for (int i = i0 + 1; i <= i1; i++) {
+                current[0] = right[i];
+                char c = table.s1.charAt(i - 1);
+                for (int j = 1; j <= width; j++) {
+                    int cost = c == table.s2.charAt(j0 + j - 1) ? 0 : 1;
+                    current[j] = Math.min(previous[j - 1] + cost, Math.min(
+                            previous[j] + 1, current[j - 1] + 1));
+                }
+                right[i] = current[width];
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            System.arraycopy(previous, 1, bottom, j0 + 1, width);
+        }
+    }
+}
@@ -27,39 +27,104 @@ public class Wildcards {
      * The matching method takes two arguments: The text and the pattern. The
      * [http://en.wikipedia.org/wiki/Asterisk asterisk] (*) denotes the wildcard
      * character. The method returns a collection of strings: the matches of the
-     * pattern in the text.
+     * pattern in the text, which are found by the allocation-free matching
+     * method below.
      */
-    public static Collection<String> getMatches(String t, String p) {
-        Collection<String> result = new ArrayList<String>();
-        for (int i = 0; i < t.length(); i++) {
+    public static Collection<String> getMatches(final String t, String p) {
+        final Collection<String> result = new ArrayList<String>();
+        final int n = p.length();
+        match(t, p, new MatchSink() {
+            public boolean match(int position, int errors) {
+                result.add(t.substring(position, position + n));
+                return true;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The same matching without allocating: the start position of each match
+     * is reported to the sink. Returns false if the sink stopped the search.
+     */
+    public static boolean match(CharSequence t, CharSequence p, MatchSink sink) {
+        return match(t, 0, t.length(), p, sink);
+    }
+
+    /**
+     * Matching in a range of the text only: reports the occurrences lying
+     * completely within the range from (inclusive) to (exclusive) of t.
+     */
+    public static boolean match(CharSequence t, int from, int to,
+            CharSequence p, MatchSink sink) {
+        return match(t, from, to, p, SimpleLongestCommonExtension.bind(p, t),
+                sink);
+    }
+
+    /**
+     * Matching with a given ''longest common extension'' computation for p
+     * and t, e.g. a {@link SuffixArrayLongestCommonExtension}, which answers
+     * each query in constant time for a total runtime of ''O(km)''.
+     */
+    public static boolean match(CharSequence t, int from, int to,
+            CharSequence p, LongestCommonExtension lce, MatchSink sink) {
+        int n = p.length();
+        for (int i = from; i <= to - n; i++) {
             // Step 1: Set j to 1 and h to i.
             int j = 0;
             int h = i;
-            int n = p.length();
             while (true) {
                 // Step 2: Compute the length L of the longest common extension
                 // starting at positions j of P and h of T:
-                int L = SimpleLongestCommonExtension.longestCommonExtension(p,
-                        j, t, h);
+                int L = lce.longestCommonExtension(j, h);
                 // Step 3: if j + L = n + 1 then P occurs in T starting at i;
                 // stop.
                 if (j + 1 + L == n + 1) {
-                    result.add(t.substring(i, i + n));
+                    if (!sink.match(i, 0)) {
+                        return false;
+                    }
                     break;
                 }
                 // Step 4: Check if a wildcard occurs in position j + L of P or
                 // position h + L in T. If so then set j to j + L + 1, set h to
                 // h + L + 1, and then go to step 2. Else, P does not occur in T
                 // starting at i; stop.
-                if (((j + L) < p.length() && p.charAt(j + L) == '*')
-                        || ((h + L) < t.length() && t.charAt(h + L) == '*')) {
+                if (((j + L) < n && p.charAt(j + L) == '*')
+                        || ((h + L) < to && t.charAt(h + L) == '*')) {
                     j = j + L + 1;
                     h = h + L + 1;
                 } else
                     break;
             }
         }
-        return result;
+        return true;
+    }
+
+    /** Returns a {@link Matcher} for occurrences of p. */
+    public static Matcher matcher(final CharSequence p) {
+        return new Matcher() {
+            public int length() {
+                return p.length();
+            }
+
+            public boolean match(CharSequence text, int from, int to,
+                    MatchSink sink) {
+                return Wildcards.match(text, from, to, p, sink);
+            }
+        };
+    }
+
+    /** Returns the number of occurrences of p in t. */
+    public static int count(CharSequence t, CharSequence p) {
+        MatchSink.Counter counter = new MatchSink.Counter();
+        match(t, p, counter);
+        return counter.count();
+    }
+
+    /** Returns the position of the first occurrence of p in t, or -1. */
+    public static int indexOf(CharSequence t, CharSequence p) {
+        MatchSink.First first = new MatchSink.First();
+        match(t, p, first);
+        return first.position();
     }
 
     /** A JUnit 4 test to demonstrate the usage: */
@@ -68,6 +133,8 @@ public class Wildcards {
     public void testGetMatches() {
         Collection<String> results = getMatches("abentbananaend bend", "ben*");
         assertEquals(Arrays.asList("bent", "bend"), results);
+        assertEquals(2, count("abentbananaend bend", "ben*"));
+        assertEquals(15, indexOf("abentbananaend bend", "b*nd"));
     }
 
     /**